@@ -0,0 +1,56 @@
+package com.moneymanager.benchmark;
+
+import com.moneymanager.model.Category;
+import com.moneymanager.model.Division;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionStatus;
+import com.moneymanager.model.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class BenchmarkData {
+
+    private static final Category[] EXPENSE_CATEGORIES = {
+            Category.FOOD, Category.FUEL, Category.MOVIE, Category.MEDICAL, Category.LOAN,
+            Category.ENTERTAINMENT, Category.UTILITIES, Category.GROCERIES
+    };
+
+    private static final Category[] INCOME_CATEGORIES = {
+            Category.SALARY, Category.FREELANCE, Category.INVESTMENT, Category.GIFT, Category.BONUS
+    };
+
+    private BenchmarkData() {
+    }
+
+    // Fixed seed so every run and every fork sees the same data
+    static List<Transaction> transactions(int size) {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2019, 1, 1, 0, 0);
+        List<Transaction> transactions = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            boolean income = random.nextInt(5) == 0;
+            Category[] categories = income ? INCOME_CATEGORIES : EXPENSE_CATEGORIES;
+            LocalDateTime date = start.plusMinutes(random.nextInt(60 * 24 * 365 * 5));
+            transactions.add(Transaction.builder()
+                    .id(String.format("%024x", i))
+                    .userId("user-1")
+                    .type(income ? TransactionType.INCOME : TransactionType.EXPENSE)
+                    .description("Synthetic transaction " + i)
+                    .amount(Math.round(random.nextDouble() * 100_000))
+                    .category(categories[random.nextInt(categories.length)].getCode())
+                    .division(random.nextBoolean() ? Division.OFFICE : Division.PERSONAL)
+                    .transactionDate(date)
+                    .createdAt(date)
+                    .updatedAt(date)
+                    .accountId("account-" + random.nextInt(4))
+                    .notes(random.nextInt(10) == 0 ? "Note for transaction " + i : null)
+                    .status(TransactionStatus.COMPLETED)
+                    .build());
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,61 @@
+package com.moneymanager.benchmark;
+
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.mapper.TransactionMapper;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.utils.CategoryTable;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Per-element entity -> DTO cost: the explicit mapper against the reflective ModelMapper it replaced
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private static final int SIZE = 1000;
+
+    private List<Transaction> transactions;
+    private TransactionMapper transactionMapper;
+    private ModelMapper modelMapper;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = BenchmarkData.transactions(SIZE);
+        transactionMapper = new TransactionMapper();
+        modelMapper = new ModelMapper();
+    }
+
+    private Transaction next() {
+        index = (index + 1) % SIZE;
+        return transactions.get(index);
+    }
+
+    @Benchmark
+    public void explicitMapper(Blackhole blackhole) {
+        blackhole.consume(transactionMapper.toDTO(next(), CategoryTable.BUILT_IN));
+    }
+
+    @Benchmark
+    public void modelMapper(Blackhole blackhole) {
+        blackhole.consume(modelMapper.map(next(), TransactionDTO.class));
+    }
+}
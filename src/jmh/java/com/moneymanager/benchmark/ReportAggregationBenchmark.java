@@ -0,0 +1,115 @@
+package com.moneymanager.benchmark;
+
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionType;
+import com.moneymanager.utils.TransactionColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// In-JVM report aggregation over synthetic transaction lists, the work the dashboard
+// used to do per request before totals moved into Mongo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ReportAggregationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private static final LocalDateTime RANGE_START = LocalDateTime.of(2021, 3, 1, 0, 0);
+    private static final LocalDateTime RANGE_END = LocalDateTime.of(2021, 6, 1, 0, 0);
+
+    private List<Transaction> transactions;
+    private TransactionColumns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = BenchmarkData.transactions(size);
+        columns = TransactionColumns.of(transactions.stream()
+                .sorted(Comparator.comparing(Transaction::getTransactionDate))
+                .toList());
+    }
+
+    @Benchmark
+    public long[] typeTotalsTwoPassStream() {
+        long totalIncome = transactions.stream()
+                .filter(t -> t.getType() == TransactionType.INCOME)
+                .mapToLong(Transaction::getAmount)
+                .sum();
+        long totalExpense = transactions.stream()
+                .filter(t -> t.getType() == TransactionType.EXPENSE)
+                .mapToLong(Transaction::getAmount)
+                .sum();
+        return new long[]{totalIncome, totalExpense};
+    }
+
+    @Benchmark
+    public long[] typeTotalsSinglePass() {
+        long totalIncome = 0;
+        long totalExpense = 0;
+        for (Transaction transaction : transactions) {
+            if (transaction.getType() == TransactionType.INCOME) {
+                totalIncome += transaction.getAmount();
+            } else if (transaction.getType() == TransactionType.EXPENSE) {
+                totalExpense += transaction.getAmount();
+            }
+        }
+        return new long[]{totalIncome, totalExpense};
+    }
+
+    // One quarter of the five-year history: the row loop the analytics snapshot replaces
+    @Benchmark
+    public long[] rangeTypeTotalsRows() {
+        long totalIncome = 0;
+        long totalExpense = 0;
+        for (Transaction transaction : transactions) {
+            LocalDateTime date = transaction.getTransactionDate();
+            if (date.isBefore(RANGE_START) || !date.isBefore(RANGE_END)) {
+                continue;
+            }
+            if (transaction.getType() == TransactionType.INCOME) {
+                totalIncome += transaction.getAmount();
+            } else if (transaction.getType() == TransactionType.EXPENSE) {
+                totalExpense += transaction.getAmount();
+            }
+        }
+        return new long[]{totalIncome, totalExpense};
+    }
+
+    @Benchmark
+    public TransactionColumns.Totals rangeTypeTotalsColumns() {
+        return columns.totals(RANGE_START, RANGE_END,
+                TransactionColumns.ANY, TransactionColumns.ANY, TransactionColumns.ANY);
+    }
+
+    @Benchmark
+    public Map<Integer, Long> categoryTotals() {
+        Map<Integer, Long> categoryExpenses = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getType() == TransactionType.EXPENSE) {
+                categoryExpenses.merge(transaction.getCategory(), transaction.getAmount(), Long::sum);
+            }
+        }
+        return categoryExpenses;
+    }
+}
@@ -0,0 +1,86 @@
+package com.moneymanager.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.moneymanager.dto.ApiResponse;
+import com.moneymanager.dto.CursorPage;
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.mapper.TransactionMapper;
+import com.moneymanager.utils.CategoryTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Jackson cost of the list-endpoint envelope: the old HashMap against the ApiResponse record,
+// each with the stock mapper and with the Blackbird module registered in JacksonConfig
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    @Param({"default", "blackbird"})
+    private String mapper;
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> response;
+    private ApiResponse<List<?>> apiResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Matches spring.jackson settings in application.yml
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("blackbird".equals(mapper)) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+
+        TransactionMapper transactionMapper = new TransactionMapper();
+        List<TransactionDTO> transactions = BenchmarkData.transactions(pageSize).stream()
+                .map(transaction -> transactionMapper.toDTO(transaction, CategoryTable.BUILT_IN))
+                .collect(Collectors.toList());
+
+        response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Transactions retrieved successfully");
+        response.put("data", transactions);
+        response.put("count", transactions.size());
+        response.put("nextCursor", null);
+
+        apiResponse = ApiResponse.page("Transactions retrieved successfully", new CursorPage<>(transactions, null));
+    }
+
+    @Benchmark
+    public byte[] transactionListEnvelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] transactionListRecord() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(apiResponse);
+    }
+}
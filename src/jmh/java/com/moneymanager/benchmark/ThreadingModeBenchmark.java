@@ -0,0 +1,143 @@
+package com.moneymanager.benchmark;
+
+import com.moneymanager.MoneyManagerApplication;
+import com.moneymanager.model.Transaction;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Time to serve a burst of concurrent GET /transactions requests against the running application, with
+// request handling on Tomcat's 200-thread pool or on virtual threads (spring.threads.virtual.enabled).
+// Every request reads a page from Mongo through the driver's connection pool (app.mongo.pool.max-size),
+// which bounds concurrent round trips in both modes; the pool size is a parameter for that reason.
+// Needs a running MongoDB (BENCHMARK_MONGO_URI, default mongodb://localhost:27017); the data goes into a
+// throwaway moneymanager_benchmark_http database. Each parameter combination runs in its own fork.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ThreadingModeBenchmark {
+
+    private static final String DATABASE = "moneymanager_benchmark_http";
+    private static final String PASSWORD = "benchmark";
+    private static final int USERS = 50;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"200", "1000"})
+    private int concurrentRequests;
+
+    @Param({"100"})
+    private int maxPoolSize;
+
+    @Param({"50000"})
+    private int transactions;
+
+    private ConfigurableApplicationContext application;
+    private ExecutorService clients;
+    private HttpClient http;
+    private List<HttpRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String mongoUri = Objects.requireNonNullElse(System.getenv("BENCHMARK_MONGO_URI"), "mongodb://localhost:27017");
+        try (MongoClient client = MongoClients.create(mongoUri)) {
+            client.getDatabase(DATABASE).drop();
+        }
+
+        application = SpringApplication.run(MoneyManagerApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.data.mongodb.uri=" + mongoUri + "/" + DATABASE,
+                "--spring.data.mongodb.database=" + DATABASE,
+                "--spring.security.user.password=" + PASSWORD,
+                "--app.mongo.pool.max-size=" + maxPoolSize,
+                // The seeded data is already in the current shape; nothing to backfill
+                "--app.rollup.backfill-on-startup=false",
+                "--app.ledger.backfill-on-startup=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.moneymanager=WARN");
+
+        // Seeded through the application's template so the stored shape matches what it writes
+        List<Transaction> seed = BenchmarkData.transactions(transactions);
+        for (int i = 0; i < seed.size(); i++) {
+            seed.get(i).setUserId("user-" + (i % USERS));
+            seed.get(i).setImportHash("benchmark-" + i);
+        }
+        application.getBean(MongoTemplate.class).insert(seed, Transaction.class);
+
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        String authorization = "Basic " + Base64.getEncoder()
+                .encodeToString(("user:" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        requests = new ArrayList<>(USERS);
+        for (int user = 0; user < USERS; user++) {
+            requests.add(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transactions?limit=20"))
+                    .header("X-User-Id", "user-" + user)
+                    .header("Authorization", authorization)
+                    .build());
+        }
+
+        // Client side is never the bottleneck: one virtual thread per in-flight request
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clients)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+        clients.shutdownNow();
+    }
+
+    @Benchmark
+    public int burst() {
+        List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(http.sendAsync(requests.get(i % USERS), HttpResponse.BodyHandlers.ofByteArray()));
+        }
+        int bytes = 0;
+        for (CompletableFuture<HttpResponse<byte[]>> future : responses) {
+            HttpResponse<byte[]> response = future.join();
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET /transactions returned " + response.statusCode());
+            }
+            bytes += response.body().length;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,180 @@
+package com.moneymanager.benchmark;
+
+import com.moneymanager.model.Transaction;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+// Regular transactions collection against the time-series layout: storage size is printed at setup,
+// the benchmarks time a month listing and a yearly type-totals aggregation for one user.
+// Needs a running MongoDB 7+ (BENCHMARK_MONGO_URI, default mongodb://localhost:27017); the data goes
+// into a throwaway moneymanager_benchmark database.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TimeSeriesStorageBenchmark {
+
+    private static final String DATABASE = "moneymanager_benchmark";
+    private static final int USERS = 100;
+    private static final String USER = "user-7";
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private MongoClient client;
+    private MongoCollection<Document> standard;
+    private MongoCollection<Document> timeSeries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = MongoClients.create(Objects.requireNonNullElse(System.getenv("BENCHMARK_MONGO_URI"), "mongodb://localhost:27017"));
+        MongoDatabase database = client.getDatabase(DATABASE);
+        database.drop();
+
+        database.createCollection("transactions");
+        database.createCollection("transactions_ts", new CreateCollectionOptions().timeSeriesOptions(
+                new TimeSeriesOptions("transactionDate").metaField("userId").granularity(TimeSeriesGranularity.HOURS)));
+        standard = database.getCollection("transactions");
+        timeSeries = database.getCollection("transactions_ts");
+
+        // Same index the application creates for both modes
+        Bson userDate = Indexes.compoundIndex(Indexes.ascending("userId", "isDeleted"),
+                Indexes.descending("transactionDate", "_id"));
+        standard.createIndex(userDate, new IndexOptions().name("user_deleted_date"));
+        timeSeries.createIndex(userDate, new IndexOptions().name("user_deleted_date"));
+
+        List<Document> batch = new ArrayList<>(10_000);
+        List<Transaction> transactions = BenchmarkData.transactions(size);
+        for (int i = 0; i < transactions.size(); i++) {
+            batch.add(document(transactions.get(i), "user-" + (i % USERS)));
+            if (batch.size() == 10_000 || i == transactions.size() - 1) {
+                standard.insertMany(batch);
+                timeSeries.insertMany(batch);
+                batch.clear();
+            }
+        }
+
+        printStats(database, "transactions");
+        printStats(database, "transactions_ts");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.getDatabase(DATABASE).drop();
+        client.close();
+    }
+
+    @Benchmark
+    public List<Document> monthRangeStandard() {
+        return monthRange(standard);
+    }
+
+    @Benchmark
+    public List<Document> monthRangeTimeSeries() {
+        return monthRange(timeSeries);
+    }
+
+    @Benchmark
+    public List<Document> yearTypeTotalsStandard() {
+        return yearTypeTotals(standard);
+    }
+
+    @Benchmark
+    public List<Document> yearTypeTotalsTimeSeries() {
+        return yearTypeTotals(timeSeries);
+    }
+
+    private static List<Document> monthRange(MongoCollection<Document> collection) {
+        return collection.find(userRange(LocalDateTime.of(2021, 6, 1, 0, 0), LocalDateTime.of(2021, 7, 1, 0, 0)))
+                .sort(Sorts.descending("transactionDate", "_id"))
+                .into(new ArrayList<>());
+    }
+
+    private static List<Document> yearTypeTotals(MongoCollection<Document> collection) {
+        return collection.aggregate(List.of(
+                        Aggregates.match(userRange(LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2022, 1, 1, 0, 0))),
+                        Aggregates.group("$type", Accumulators.sum("total", "$amount"))))
+                .into(new ArrayList<>());
+    }
+
+    private static Bson userRange(LocalDateTime start, LocalDateTime end) {
+        return Filters.and(
+                Filters.eq("userId", USER),
+                Filters.eq("isDeleted", false),
+                Filters.gte("transactionDate", date(start)),
+                Filters.lt("transactionDate", date(end)));
+    }
+
+    // Same shape the application stores: coded type, category, division and status
+    private static Document document(Transaction transaction, String userId) {
+        Document document = new Document("_id", new ObjectId(transaction.getId()))
+                .append("userId", userId)
+                .append("type", transaction.getType().getCode())
+                .append("description", transaction.getDescription())
+                .append("amount", transaction.getAmount())
+                .append("category", transaction.getCategory())
+                .append("division", transaction.getDivision().getCode())
+                .append("transactionDate", date(transaction.getTransactionDate()))
+                .append("createdAt", date(transaction.getCreatedAt()))
+                .append("updatedAt", date(transaction.getUpdatedAt()))
+                .append("isDeleted", false)
+                .append("accountId", transaction.getAccountId())
+                .append("status", transaction.getStatus().getCode());
+        if (transaction.getNotes() != null) {
+            document.append("notes", transaction.getNotes());
+        }
+        return document;
+    }
+
+    private static Date date(LocalDateTime dateTime) {
+        return Date.from(dateTime.toInstant(ZoneOffset.UTC));
+    }
+
+    private static void printStats(MongoDatabase database, String collection) {
+        Document stats = database.runCommand(new Document("collStats", collection));
+        System.out.printf("%n%s: %d documents, storageSize=%d bytes, totalIndexSize=%d bytes%n",
+                collection, database.getCollection(collection).countDocuments(), size(stats, "storageSize"), size(stats, "totalIndexSize"));
+    }
+
+    private static long size(Document stats, String field) {
+        Object value = stats.get(field);
+        return value instanceof Number number ? number.longValue() : -1;
+    }
+}
@@ -0,0 +1,19 @@
+package com.moneymanager.config;
+
+import com.moneymanager.service.FileFxRateProvider;
+import com.moneymanager.service.FxRateProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+@Configuration
+public class FxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(FxRateProvider.class)
+    public FxRateProvider fxRateProvider(@Value("${app.fx.rates-location:classpath:fx-rates.properties}") Resource rates) {
+        return new FileFxRateProvider(rates);
+    }
+}
@@ -0,0 +1,97 @@
+package com.moneymanager.config;
+
+import com.moneymanager.model.CodedEnum;
+import com.moneymanager.model.Division;
+import com.moneymanager.model.PostingSource;
+import com.moneymanager.model.TransactionStatus;
+import com.moneymanager.model.TransactionType;
+import com.moneymanager.utils.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+@Configuration
+public class MongoConfig {
+
+    // Multi-document transactions need a replica set, so they are opt-in. Without this
+    // bean @Transactional is a no-op and writes rely on single-document atomicity.
+    @Bean
+    @ConditionalOnProperty(name = "app.mongo.transactions-enabled", havingValue = "true")
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+
+    // Caps concurrent Mongo operations per client (the blocking and the reactive client each have a pool).
+    // Requests beyond it wait for a connection, whether they run on platform or virtual threads.
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${app.mongo.pool.max-size:100}") int maxSize,
+            @Value("${app.mongo.pool.max-wait-ms:120000}") long maxWaitMillis) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .maxWaitTime(maxWaitMillis, TimeUnit.MILLISECONDS));
+    }
+
+    // Amounts are stored as minor-unit longs; transfer summary projections read them straight into Money
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                new MinorUnitsToMoney(), new MoneyToMinorUnits(),
+                new CodedEnumToCode<TransactionType>() { }, new CodeToCodedEnum<>(TransactionType::fromCode) { },
+                new CodedEnumToCode<Division>() { }, new CodeToCodedEnum<>(Division::fromCode) { },
+                new CodedEnumToCode<TransactionStatus>() { }, new CodeToCodedEnum<>(TransactionStatus::fromCode) { },
+                new CodedEnumToCode<PostingSource>() { }, new CodeToCodedEnum<>(PostingSource::fromCode) { }));
+    }
+
+    @ReadingConverter
+    static class MinorUnitsToMoney implements Converter<Long, Money> {
+        @Override
+        public Money convert(Long source) {
+            return Money.ofMinor(source);
+        }
+    }
+
+    @WritingConverter
+    static class MoneyToMinorUnits implements Converter<Money, Long> {
+        @Override
+        public Long convert(Money source) {
+            return source.minorUnits();
+        }
+    }
+
+    // Type, division, status and posting source are stored as their small codes rather than their names.
+    // The anonymous subclasses above keep the enum type argument so Spring Data can register one pair per enum.
+    @WritingConverter
+    abstract static class CodedEnumToCode<E extends Enum<E> & CodedEnum> implements Converter<E, Integer> {
+        @Override
+        public Integer convert(E source) {
+            return source.getCode();
+        }
+    }
+
+    @ReadingConverter
+    abstract static class CodeToCodedEnum<E extends Enum<E> & CodedEnum> implements Converter<Integer, E> {
+        private final IntFunction<E> fromCode;
+
+        CodeToCodedEnum(IntFunction<E> fromCode) {
+            this.fromCode = fromCode;
+        }
+
+        @Override
+        public E convert(Integer source) {
+            return fromCode.apply(source);
+        }
+    }
+}
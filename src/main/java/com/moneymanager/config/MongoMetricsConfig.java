@@ -0,0 +1,98 @@
+package com.moneymanager.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Spring Boot already registers Micrometer's command timer (mongodb.driver.commands, tagged by
+// collection) and connection-pool gauges (mongodb.driver.pool.*) on both Mongo clients. This adds
+// the number of documents each read returns, so slow queries can be told apart from large ones.
+@Configuration
+public class MongoMetricsConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoDocumentsReturnedCustomizer(MeterRegistry registry) {
+        return builder -> builder.addCommandListener(new DocumentsReturnedListener(registry));
+    }
+
+    static class DocumentsReturnedListener implements CommandListener {
+
+        private final MeterRegistry registry;
+        // Command replies do not carry the collection name, so it is remembered from the request
+        private final Map<Integer, String> collections = new ConcurrentHashMap<>();
+
+        DocumentsReturnedListener(MeterRegistry registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            String collection = collectionOf(event.getCommandName(), event.getCommand());
+            if (collection != null) {
+                collections.put(event.getRequestId(), collection);
+            }
+        }
+
+        @Override
+        public void commandSucceeded(CommandSucceededEvent event) {
+            String collection = collections.remove(event.getRequestId());
+            if (collection == null) {
+                return;
+            }
+            int returned = documentsReturned(event.getResponse());
+            if (returned < 0) {
+                return;
+            }
+            DistributionSummary.builder("mongodb.driver.commands.documents")
+                    .description("Documents returned per Mongo command")
+                    .baseUnit("documents")
+                    .tag("command", event.getCommandName())
+                    .tag("collection", collection)
+                    .register(registry)
+                    .record(returned);
+        }
+
+        @Override
+        public void commandFailed(CommandFailedEvent event) {
+            collections.remove(event.getRequestId());
+        }
+
+        private static String collectionOf(String commandName, BsonDocument command) {
+            // getMore names the collection in a separate field; other commands use their own key
+            String field = "getMore".equals(commandName) ? "collection" : commandName;
+            BsonValue value = command.get(field);
+            return value != null && value.isString() ? value.asString().getValue() : null;
+        }
+
+        private static int documentsReturned(BsonDocument response) {
+            if (response == null) {
+                return -1;
+            }
+            BsonDocument cursor = response.getDocument("cursor", null);
+            if (cursor != null) {
+                BsonArray batch = cursor.containsKey("firstBatch")
+                        ? cursor.getArray("firstBatch")
+                        : cursor.getArray("nextBatch", null);
+                return batch == null ? -1 : batch.size();
+            }
+            // findAndModify returns the single matched document in "value"
+            BsonValue value = response.get("value");
+            if (value != null) {
+                return value.isDocument() ? 1 : 0;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.moneymanager.config;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+// Decides which collection Transaction maps to. Transaction's @Document resolves its collection through
+// this bean, so the time-series collection is created here before index creation or a first write
+// could create it as a regular one.
+@Component("transactionStorage")
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionStorage {
+
+    public enum Mode {
+        STANDARD,
+        TIMESERIES
+    }
+
+    public static final String STANDARD_COLLECTION = "transactions";
+
+    private final MongoDatabaseFactory databaseFactory;
+
+    @Value("${app.mongo.transaction-storage:standard}")
+    private String configuredMode;
+
+    @Value("${app.mongo.timeseries.collection:transactions_ts}")
+    private String timeSeriesCollection;
+
+    // Personal transactions are sparse, so hour granularity (30-day buckets) keeps buckets well filled
+    @Value("${app.mongo.timeseries.granularity:hours}")
+    private String granularity;
+
+    private Mode mode;
+
+    @PostConstruct
+    void init() {
+        mode = Mode.valueOf(configuredMode.trim().toUpperCase(Locale.ROOT));
+        MongoDatabase database = databaseFactory.getMongoDatabase();
+        if (mode == Mode.TIMESERIES) {
+            createTimeSeriesCollection(database);
+        }
+
+        // Time-series collections cannot hold unique indexes; there the import service checks for
+        // existing hashes itself and this index only speeds that lookup up
+        database.getCollection(getCollection()).createIndex(Indexes.ascending("userId", "importHash"),
+                new IndexOptions()
+                        .name("user_import_hash")
+                        .unique(enforcesUniqueImports())
+                        .partialFilterExpression(Filters.exists("importHash")));
+
+        log.info("Transactions are stored in the {} collection '{}'", mode.name().toLowerCase(Locale.ROOT), getCollection());
+    }
+
+    public boolean isTimeSeries() {
+        return mode == Mode.TIMESERIES;
+    }
+
+    public String getCollection() {
+        return isTimeSeries() ? timeSeriesCollection : STANDARD_COLLECTION;
+    }
+
+    public boolean enforcesUniqueImports() {
+        return !isTimeSeries();
+    }
+
+    private void createTimeSeriesCollection(MongoDatabase database) {
+        if (database.listCollectionNames().into(new ArrayList<>()).contains(timeSeriesCollection)) {
+            return;
+        }
+        log.info("Creating time-series collection '{}'", timeSeriesCollection);
+        database.createCollection(timeSeriesCollection, new CreateCollectionOptions().timeSeriesOptions(
+                new TimeSeriesOptions("transactionDate")
+                        .metaField("userId")
+                        .granularity(TimeSeriesGranularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT)))));
+    }
+}
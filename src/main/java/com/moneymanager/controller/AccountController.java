@@ -1,7 +1,11 @@
 package com.moneymanager.controller;
 
 import com.moneymanager.dto.AccountDTO;
+import com.moneymanager.dto.ApiResponse;
+import com.moneymanager.dto.BalancePointDTO;
+import com.moneymanager.dto.TotalBalanceDTO;
 import com.moneymanager.service.AccountService;
+import com.moneymanager.utils.BalanceInterval;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -9,9 +13,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/accounts")
@@ -23,71 +26,76 @@ public class AccountController {
     private final AccountService accountService;
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createAccount(
+    public ResponseEntity<ApiResponse<AccountDTO>> createAccount(
             @Valid @RequestBody AccountDTO accountDTO,
             @RequestHeader("X-User-Id") String userId) {
         log.info("POST /accounts - Creating account for user: {}", userId);
         
         AccountDTO created = accountService.createAccount(userId, accountDTO);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Account created successfully");
-        response.put("data", created);
-        
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.of("Account created successfully", created));
     }
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllAccounts(
+    public ResponseEntity<ApiResponse<List<AccountDTO>>> getAllAccounts(
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /accounts - Fetching all accounts for user: {}", userId);
         
         List<AccountDTO> accounts = accountService.getAllAccounts(userId);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Accounts retrieved successfully");
-        response.put("data", accounts);
-        response.put("count", accounts.size());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.list("Accounts retrieved successfully", accounts));
     }
 
     @GetMapping("/active")
-    public ResponseEntity<Map<String, Object>> getActiveAccounts(
+    public ResponseEntity<ApiResponse<List<AccountDTO>>> getActiveAccounts(
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /accounts/active - Fetching active accounts for user: {}", userId);
         
         List<AccountDTO> accounts = accountService.getActiveAccounts(userId);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Active accounts retrieved successfully");
-        response.put("data", accounts);
-        response.put("count", accounts.size());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.list("Active accounts retrieved successfully", accounts));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getAccountById(
+    public ResponseEntity<ApiResponse<AccountDTO>> getAccountById(
             @PathVariable String id,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /accounts/{} - Fetching account for user: {}", id, userId);
         
         AccountDTO account = accountService.getAccountById(userId, id);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Account retrieved successfully");
-        response.put("data", account);
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.of("Account retrieved successfully", account));
+    }
+
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<ApiResponse<BalancePointDTO>> getBalanceAsOf(
+            @PathVariable String id,
+            @RequestParam(required = false) LocalDateTime at,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /accounts/{}/balance - Fetching balance for user: {}", id, userId);
+
+        BalancePointDTO balance = accountService.getBalanceAsOf(userId, id, at != null ? at : LocalDateTime.now());
+
+        return ResponseEntity.ok(ApiResponse.of("Account balance retrieved successfully", balance));
+    }
+
+    @GetMapping("/{id}/balance-history")
+    public ResponseEntity<ApiResponse<List<BalancePointDTO>>> getBalanceHistory(
+            @PathVariable String id,
+            @RequestParam LocalDateTime startDate,
+            @RequestParam LocalDateTime endDate,
+            @RequestParam(required = false) String interval,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /accounts/{}/balance-history - Fetching balance history for user: {}", id, userId);
+
+        List<BalancePointDTO> history = accountService.getBalanceHistory(userId, id, startDate, endDate,
+                BalanceInterval.from(interval));
+
+        return ResponseEntity.ok(ApiResponse.of("Account balance history retrieved successfully", history));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateAccount(
+    public ResponseEntity<ApiResponse<AccountDTO>> updateAccount(
             @PathVariable String id,
             @Valid @RequestBody AccountDTO accountDTO,
             @RequestHeader("X-User-Id") String userId) {
@@ -95,41 +103,31 @@ public class AccountController {
         
         AccountDTO updated = accountService.updateAccount(userId, id, accountDTO);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Account updated successfully");
-        response.put("data", updated);
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.of("Account updated successfully", updated));
     }
 
     @PatchMapping("/{id}/deactivate")
-    public ResponseEntity<Map<String, Object>> deactivateAccount(
+    public ResponseEntity<ApiResponse<Void>> deactivateAccount(
             @PathVariable String id,
             @RequestHeader("X-User-Id") String userId) {
         log.info("PATCH /accounts/{}/deactivate - Deactivating account for user: {}", id, userId);
         
         accountService.deactivateAccount(userId, id);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Account deactivated successfully");
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.message("Account deactivated successfully"));
     }
 
     @GetMapping("/total-balance")
-    public ResponseEntity<Map<String, Object>> getTotalBalance(
+    public ResponseEntity<ApiResponse<Void>> getTotalBalance(
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /accounts/total-balance - Getting total balance for user: {}", userId);
         
-        Double totalBalance = accountService.getTotalBalance(userId);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Total balance retrieved successfully");
-        response.put("totalBalance", totalBalance);
+        TotalBalanceDTO totalBalance = accountService.getTotalBalance(userId);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.message("Total balance retrieved successfully")
+                .with("totalBalance", totalBalance.getTotalBalance())
+                .with("currency", totalBalance.getCurrency())
+                .with("balancesByCurrency", totalBalance.getBalancesByCurrency())
+                .with("ratesAsOf", totalBalance.getRatesAsOf()));
     }
 }
@@ -1,12 +1,15 @@
 package com.moneymanager.controller;
 
+import com.moneymanager.dto.ApiResponse;
 import com.moneymanager.service.DashboardService;
+import com.moneymanager.utils.ReportDetail;
+import com.moneymanager.utils.ReportPeriod;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @RestController
@@ -19,67 +22,78 @@ public class DashboardController {
     private final DashboardService dashboardService;
 
     @GetMapping("/monthly")
-    public ResponseEntity<Map<String, Object>> getMonthlyReport(
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getMonthlyReport(
             @RequestParam int month,
             @RequestParam int year,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /dashboard/monthly - Getting monthly report for user: {}", userId);
         
-        Map<String, Object> report = dashboardService.getMonthlyReport(userId, month, year);
+        Map<String, Object> report = dashboardService.withDetail(
+                dashboardService.getMonthlyReport(userId, month, year),
+                userId, ReportPeriod.month(year, month), ReportDetail.from(include), cursor, limit);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Monthly report retrieved successfully");
-        response.put("data", report);
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.of("Monthly report retrieved successfully", report));
     }
 
     @GetMapping("/weekly")
-    public ResponseEntity<Map<String, Object>> getWeeklyReport(
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getWeeklyReport(
             @RequestParam int week,
             @RequestParam int year,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /dashboard/weekly - Getting weekly report for user: {}", userId);
         
-        Map<String, Object> report = dashboardService.getWeeklyReport(userId, week, year);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Weekly report retrieved successfully");
-        response.put("data", report);
+        Map<String, Object> report = dashboardService.withDetail(
+                dashboardService.getWeeklyReport(userId, week, year),
+                userId, ReportPeriod.isoWeek(year, week), ReportDetail.from(include), cursor, limit);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.of("Weekly report retrieved successfully", report));
     }
 
     @GetMapping("/yearly")
-    public ResponseEntity<Map<String, Object>> getYearlyReport(
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getYearlyReport(
             @RequestParam int year,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /dashboard/yearly - Getting yearly report for user: {}", userId);
         
-        Map<String, Object> report = dashboardService.getYearlyReport(userId, year);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Yearly report retrieved successfully");
-        response.put("data", report);
+        Map<String, Object> report = dashboardService.withDetail(
+                dashboardService.getYearlyReport(userId, year),
+                userId, ReportPeriod.year(year), ReportDetail.from(include), cursor, limit);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.of("Yearly report retrieved successfully", report));
+    }
+
+    @GetMapping("/range")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRangeReport(
+            @RequestParam LocalDateTime startDate,
+            @RequestParam LocalDateTime endDate,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String division,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /dashboard/range - Getting range report for user: {}", userId);
+
+        Map<String, Object> report = dashboardService.getRangeReport(userId,
+                ReportPeriod.between(startDate, endDate), type, category, division);
+
+        return ResponseEntity.ok(ApiResponse.of("Range report retrieved successfully", report));
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<Map<String, Object>> getCategoryReport(
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCategoryReport(
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /dashboard/categories - Getting category report for user: {}", userId);
         
         Map<String, Object> report = dashboardService.getCategoryReport(userId);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Category report retrieved successfully");
-        response.put("data", report);
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.of("Category report retrieved successfully", report));
     }
 }
@@ -1,5 +1,10 @@
 package com.moneymanager.controller;
 
+import com.moneymanager.service.ReportCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -10,15 +15,32 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/health")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final ReportCache reportCache;
+    private final HealthEndpoint healthEndpoint;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
+        // Aggregated Actuator status, so a lost Mongo connection shows up here too
+        Status status = healthEndpoint.health().getStatus();
+        boolean up = Status.UP.equals(status);
+
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
-        response.put("message", "Money Manager Backend is running");
+        response.put("status", status.getCode());
+        response.put("message", up ? "Money Manager Backend is running" : "Money Manager Backend is degraded");
         response.put("timestamp", System.currentTimeMillis());
         
+        return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("caches", reportCache.getStats());
+        response.put("timestamp", System.currentTimeMillis());
+
         return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,93 @@
+package com.moneymanager.controller;
+
+import com.moneymanager.dto.ApiResponse;
+import com.moneymanager.service.ReactiveDashboardService;
+import com.moneymanager.utils.ReportDetail;
+import com.moneymanager.utils.ReportPeriod;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+// Same contract as DashboardController, backed by the reactive driver
+@RestController
+@RequestMapping("/reactive/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReactiveDashboardController {
+
+    private final ReactiveDashboardService reactiveDashboardService;
+
+    @GetMapping("/monthly")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> getMonthlyReport(
+            @RequestParam int month,
+            @RequestParam int year,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/dashboard/monthly - Getting monthly report for user: {}", userId);
+
+        return reactiveDashboardService.withDetail(
+                        reactiveDashboardService.getMonthlyReport(userId, month, year),
+                        userId, ReportPeriod.month(year, month), ReportDetail.from(include), cursor, limit)
+                .map(report -> ResponseEntity.ok(ApiResponse.of("Monthly report retrieved successfully", report)));
+    }
+
+    @GetMapping("/weekly")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> getWeeklyReport(
+            @RequestParam int week,
+            @RequestParam int year,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/dashboard/weekly - Getting weekly report for user: {}", userId);
+
+        return reactiveDashboardService.withDetail(
+                        reactiveDashboardService.getWeeklyReport(userId, week, year),
+                        userId, ReportPeriod.isoWeek(year, week), ReportDetail.from(include), cursor, limit)
+                .map(report -> ResponseEntity.ok(ApiResponse.of("Weekly report retrieved successfully", report)));
+    }
+
+    @GetMapping("/yearly")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> getYearlyReport(
+            @RequestParam int year,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/dashboard/yearly - Getting yearly report for user: {}", userId);
+
+        return reactiveDashboardService.withDetail(
+                        reactiveDashboardService.getYearlyReport(userId, year),
+                        userId, ReportPeriod.year(year), ReportDetail.from(include), cursor, limit)
+                .map(report -> ResponseEntity.ok(ApiResponse.of("Yearly report retrieved successfully", report)));
+    }
+
+    @GetMapping("/categories")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> getCategoryReport(
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/dashboard/categories - Getting category report for user: {}", userId);
+
+        return reactiveDashboardService.getCategoryReport(userId)
+                .map(report -> ResponseEntity.ok(ApiResponse.of("Category report retrieved successfully", report)));
+    }
+
+    @GetMapping("/total-balance")
+    public Mono<ResponseEntity<ApiResponse<Void>>> getTotalBalance(
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/dashboard/total-balance - Getting total balance for user: {}", userId);
+
+        return reactiveDashboardService.getTotalBalance(userId)
+                .map(totalBalance -> ResponseEntity.ok(ApiResponse.message("Total balance retrieved successfully")
+                        .with("totalBalance", totalBalance.getTotalBalance())
+                        .with("currency", totalBalance.getCurrency())
+                        .with("balancesByCurrency", totalBalance.getBalancesByCurrency())
+                        .with("ratesAsOf", totalBalance.getRatesAsOf())));
+    }
+}
@@ -0,0 +1,111 @@
+package com.moneymanager.controller;
+
+import com.moneymanager.dto.ApiResponse;
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.service.ReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Same contract as TransactionController's read endpoints, backed by the reactive driver. Served by
+// Spring MVC, which runs Mono/Flux return values as servlet async requests; WebFlux could sit on the
+// classpath alongside it, but Boot would still pick the servlet stack, so it is not added.
+@RestController
+@RequestMapping("/reactive/transactions")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReactiveTransactionController {
+
+    private final ReactiveTransactionService reactiveTransactionService;
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<List<?>>>> getAllTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/transactions - Fetching all transactions for user: {}", userId);
+
+        return reactiveTransactionService.getAllTransactions(userId, cursor, limit)
+                .map(page -> ResponseEntity.ok(ApiResponse.page("Transactions retrieved successfully", page)));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TransactionDTO> streamTransactions(
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/transactions/stream - Streaming transactions for user: {}", userId);
+
+        return reactiveTransactionService.streamTransactions(userId);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<TransactionDTO>>> getTransactionById(
+            @PathVariable String id,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/transactions/{} - Fetching transaction for user: {}", id, userId);
+
+        return reactiveTransactionService.getTransactionById(userId, id)
+                .map(transaction -> ResponseEntity.ok(ApiResponse.of("Transaction retrieved successfully", transaction)));
+    }
+
+    @GetMapping("/type/{type}")
+    public Mono<ResponseEntity<ApiResponse<List<?>>>> getTransactionsByType(
+            @PathVariable String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/transactions/type/{} - Fetching transactions for user: {}", type, userId);
+
+        return reactiveTransactionService.getTransactionsByType(userId, type, cursor, limit)
+                .map(page -> ResponseEntity.ok(ApiResponse.page(type + " transactions retrieved successfully", page)));
+    }
+
+    @GetMapping("/category/{category}")
+    public Mono<ResponseEntity<ApiResponse<List<?>>>> getTransactionsByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/transactions/category/{} - Fetching transactions for user: {}", category, userId);
+
+        return reactiveTransactionService.getTransactionsByCategory(userId, category, cursor, limit)
+                .map(page -> ResponseEntity.ok(ApiResponse.page("Transactions by category retrieved successfully", page)
+                            .with("category", category)));
+    }
+
+    @GetMapping("/division/{division}")
+    public Mono<ResponseEntity<ApiResponse<List<?>>>> getTransactionsByDivision(
+            @PathVariable String division,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/transactions/division/{} - Fetching transactions for user: {}", division, userId);
+
+        return reactiveTransactionService.getTransactionsByDivision(userId, division, cursor, limit)
+                .map(page -> ResponseEntity.ok(ApiResponse.page("Transactions by division retrieved successfully", page)
+                            .with("division", division)));
+    }
+
+    @GetMapping("/filter/date-range")
+    public Mono<ResponseEntity<ApiResponse<List<?>>>> getTransactionsByDateRange(
+            @RequestParam LocalDateTime startDate,
+            @RequestParam LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/transactions/filter/date-range - Fetching transactions between {} and {} for user: {}",
+                startDate, endDate, userId);
+
+        return reactiveTransactionService.getTransactionsByDateRange(userId, startDate, endDate, cursor, limit)
+                .map(page -> ResponseEntity.ok(ApiResponse.page("Transactions by date range retrieved successfully", page)
+                            .with("startDate", startDate)
+                            .with("endDate", endDate)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.moneymanager.controller;
+
+import com.moneymanager.dto.ApiResponse;
+import com.moneymanager.dto.TransferDTO;
+import com.moneymanager.service.ReactiveTransferService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/reactive/accounts/transfer")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReactiveTransferController {
+
+    private final ReactiveTransferService reactiveTransferService;
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<List<?>>>> getTransfers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/accounts/transfer - Fetching transfers for user: {}", userId);
+
+        return reactiveTransferService.getTransfersByUser(userId, cursor, limit)
+                .map(page -> ResponseEntity.ok(ApiResponse.page("Transfers retrieved successfully", page)));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TransferDTO> streamTransfers(
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /reactive/accounts/transfer/stream - Streaming transfers for user: {}", userId);
+
+        return reactiveTransferService.streamTransfers(userId);
+    }
+}
@@ -1,19 +1,32 @@
 package com.moneymanager.controller;
 
+import com.moneymanager.dto.ApiResponse;
+import com.moneymanager.dto.CursorPage;
+import com.moneymanager.dto.ImportResultDTO;
 import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.exception.InvalidOperationException;
+import com.moneymanager.service.IdempotencyService;
+import com.moneymanager.service.TransactionArchiveService;
+import com.moneymanager.service.TransactionImportService;
 import com.moneymanager.service.TransactionService;
+import com.moneymanager.utils.ListView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/transactions")
@@ -23,131 +36,168 @@ import java.util.Map;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final IdempotencyService idempotencyService;
+    private final TransactionArchiveService transactionArchiveService;
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createTransaction(
+    public ResponseEntity<ApiResponse<TransactionDTO>> createTransaction(
             @Valid @RequestBody TransactionDTO transactionDTO,
-            @RequestHeader("X-User-Id") String userId) {
+            @RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("POST /transactions - Creating transaction for user: {}", userId);
         
-        TransactionDTO created = transactionService.createTransaction(userId, transactionDTO);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transaction created successfully");
-        response.put("data", created);
-        
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return idempotencyService.execute(userId, idempotencyKey, "POST /transactions", transactionDTO, TransactionDTO.class, () -> {
+            TransactionDTO created = transactionService.createTransaction(userId, transactionDTO);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.of("Transaction created successfully", created));
+        });
     }
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllTransactions(
+    public ResponseEntity<ApiResponse<List<?>>> getAllTransactions(
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /transactions - Fetching all transactions for user: {}", userId);
         
-        List<TransactionDTO> transactions = transactionService.getAllTransactions(userId);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transactions retrieved successfully");
-        response.put("data", transactions);
-        response.put("count", transactions.size());
+        CursorPage<?> page = transactionService.getAllTransactions(userId, ListView.from(view), cursor, limit);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.page("Transactions retrieved successfully", page));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String division,
+            @RequestParam(required = false) LocalDateTime startDate,
+            @RequestParam(required = false) LocalDateTime endDate,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /transactions/export - Exporting transactions as {} for user: {}", format, userId);
+
+        String exportFormat = format.toLowerCase();
+        MediaType mediaType = switch (exportFormat) {
+            case "csv" -> MediaType.parseMediaType("text/csv");
+            case "ndjson" -> MediaType.parseMediaType("application/x-ndjson");
+            default -> throw new InvalidOperationException("Unsupported export format: " + format);
+        };
+
+        StreamingResponseBody body = outputStream -> transactionService.exportTransactions(
+                userId, exportFormat, type, category, division, startDate, endDate, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + exportFormat + "\"")
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<ImportResultDTO>> importTransactionsCsv(
+            InputStream inputStream,
+            @RequestHeader("X-User-Id") String userId) throws IOException {
+        log.info("POST /transactions/import - Importing CSV transactions for user: {}", userId);
+
+        ImportResultDTO result = transactionImportService.importCsv(userId,
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        return importResponse(result);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<ImportResultDTO>> importTransactionsJson(
+            @RequestBody List<TransactionDTO> transactionDTOs,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("POST /transactions/import - Importing {} JSON transactions for user: {}",
+                transactionDTOs.size(), userId);
+
+        ImportResultDTO result = transactionImportService.importJson(userId, transactionDTOs);
+
+        return importResponse(result);
+    }
+
+    private ResponseEntity<ApiResponse<ImportResultDTO>> importResponse(ImportResultDTO result) {
+        String message = "Imported " + result.getImported() + " of " + result.getTotalRows() + " transactions";
+        return ResponseEntity.ok(ApiResponse.of(message, result));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getTransactionById(
+    public ResponseEntity<ApiResponse<TransactionDTO>> getTransactionById(
             @PathVariable String id,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /transactions/{} - Fetching transaction for user: {}", id, userId);
         
         TransactionDTO transaction = transactionService.getTransactionById(userId, id);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transaction retrieved successfully");
-        response.put("data", transaction);
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.of("Transaction retrieved successfully", transaction));
     }
 
     @GetMapping("/type/{type}")
-    public ResponseEntity<Map<String, Object>> getTransactionsByType(
+    public ResponseEntity<ApiResponse<List<?>>> getTransactionsByType(
             @PathVariable String type,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /transactions/type/{} - Fetching {} transactions for user: {}", type, type, userId);
         
-        List<TransactionDTO> transactions = transactionService.getTransactionsByType(userId, type);
+        CursorPage<?> page = transactionService.getTransactionsByType(userId, type, ListView.from(view), cursor, limit);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", type + " transactions retrieved successfully");
-        response.put("data", transactions);
-        response.put("count", transactions.size());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.page(type + " transactions retrieved successfully", page));
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<Map<String, Object>> getTransactionsByCategory(
+    public ResponseEntity<ApiResponse<List<?>>> getTransactionsByCategory(
             @PathVariable String category,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /transactions/category/{} - Fetching transactions for user: {}", category, userId);
         
-        List<TransactionDTO> transactions = transactionService.getTransactionsByCategory(userId, category);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transactions by category retrieved successfully");
-        response.put("category", category);
-        response.put("data", transactions);
-        response.put("count", transactions.size());
+        CursorPage<?> page = transactionService.getTransactionsByCategory(userId, category, ListView.from(view), cursor, limit);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.page("Transactions by category retrieved successfully", page)
+                .with("category", category));
     }
 
     @GetMapping("/division/{division}")
-    public ResponseEntity<Map<String, Object>> getTransactionsByDivision(
+    public ResponseEntity<ApiResponse<List<?>>> getTransactionsByDivision(
             @PathVariable String division,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /transactions/division/{} - Fetching transactions for user: {}", division, userId);
         
-        List<TransactionDTO> transactions = transactionService.getTransactionsByDivision(userId, division);
+        CursorPage<?> page = transactionService.getTransactionsByDivision(userId, division, ListView.from(view), cursor, limit);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transactions by division retrieved successfully");
-        response.put("division", division);
-        response.put("data", transactions);
-        response.put("count", transactions.size());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.page("Transactions by division retrieved successfully", page)
+                .with("division", division));
     }
 
     @GetMapping("/filter/date-range")
-    public ResponseEntity<Map<String, Object>> getTransactionsByDateRange(
+    public ResponseEntity<ApiResponse<List<?>>> getTransactionsByDateRange(
             @RequestParam LocalDateTime startDate,
             @RequestParam LocalDateTime endDate,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /transactions/filter/date-range - Fetching transactions between {} and {} for user: {}", 
                 startDate, endDate, userId);
         
-        List<TransactionDTO> transactions = transactionService.getTransactionsByDateRange(userId, startDate, endDate);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transactions by date range retrieved successfully");
-        response.put("startDate", startDate);
-        response.put("endDate", endDate);
-        response.put("data", transactions);
-        response.put("count", transactions.size());
+        CursorPage<?> page = transactionService.getTransactionsByDateRange(userId, startDate, endDate, ListView.from(view), cursor, limit);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.page("Transactions by date range retrieved successfully", page)
+                .with("startDate", startDate)
+                .with("endDate", endDate));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateTransaction(
+    public ResponseEntity<ApiResponse<TransactionDTO>> updateTransaction(
             @PathVariable String id,
             @Valid @RequestBody TransactionDTO transactionDTO,
             @RequestHeader("X-User-Id") String userId) {
@@ -155,26 +205,28 @@ public class TransactionController {
         
         TransactionDTO updated = transactionService.updateTransaction(userId, id, transactionDTO);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transaction updated successfully");
-        response.put("data", updated);
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.of("Transaction updated successfully", updated));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> deleteTransaction(
+    public ResponseEntity<ApiResponse<Void>> deleteTransaction(
             @PathVariable String id,
             @RequestHeader("X-User-Id") String userId) {
         log.info("DELETE /transactions/{} - Deleting transaction for user: {}", id, userId);
         
         transactionService.deleteTransaction(userId, id);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transaction deleted successfully");
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.message("Transaction deleted successfully"));
+    }
+
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<ApiResponse<TransactionDTO>> restoreTransaction(
+            @PathVariable String id,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("POST /transactions/{}/restore - Restoring transaction for user: {}", id, userId);
+
+        TransactionDTO restored = transactionArchiveService.restoreTransaction(userId, id);
+
+        return ResponseEntity.ok(ApiResponse.of("Transaction restored successfully", restored));
     }
 }
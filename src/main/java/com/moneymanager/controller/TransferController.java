@@ -1,7 +1,11 @@
 package com.moneymanager.controller;
 
+import com.moneymanager.dto.ApiResponse;
+import com.moneymanager.dto.CursorPage;
 import com.moneymanager.dto.TransferDTO;
+import com.moneymanager.service.IdempotencyService;
 import com.moneymanager.service.TransferService;
+import com.moneymanager.utils.ListView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -10,9 +14,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/accounts/transfer")
@@ -22,73 +24,64 @@ import java.util.Map;
 public class TransferController {
 
     private final TransferService transferService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createTransfer(
+    public ResponseEntity<ApiResponse<TransferDTO>> createTransfer(
             @Valid @RequestBody TransferDTO transferDTO,
-            @RequestHeader("X-User-Id") String userId) {
+            @RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("POST /accounts/transfer - Creating transfer for user: {}", userId);
         
-        TransferDTO created = transferService.createTransfer(userId, transferDTO);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transfer completed successfully");
-        response.put("data", created);
-        
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return idempotencyService.execute(userId, idempotencyKey, "POST /accounts/transfer", transferDTO, TransferDTO.class, () -> {
+            TransferDTO created = transferService.createTransfer(userId, transferDTO);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.of("Transfer completed successfully", created));
+        });
     }
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getTransfersByUser(
+    public ResponseEntity<ApiResponse<List<?>>> getTransfersByUser(
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /accounts/transfer - Fetching transfers for user: {}", userId);
         
-        List<TransferDTO> transfers = transferService.getTransfersByUser(userId);
+        CursorPage<?> page = transferService.getTransfersByUser(userId, ListView.from(view), cursor, limit);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transfers retrieved successfully");
-        response.put("data", transfers);
-        response.put("count", transfers.size());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.page("Transfers retrieved successfully", page));
     }
 
     @GetMapping("/account/{accountId}")
-    public ResponseEntity<Map<String, Object>> getTransfersByAccount(
-            @PathVariable String accountId) {
-        log.info("GET /accounts/transfer/account/{} - Fetching transfers for account: {}", accountId, accountId);
-        
-        List<TransferDTO> transfers = transferService.getTransfersByAccount(accountId);
+    public ResponseEntity<ApiResponse<List<?>>> getTransfersByAccount(
+            @PathVariable String accountId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("X-User-Id") String userId) {
+        log.info("GET /accounts/transfer/account/{} - Fetching transfers for user: {}", accountId, userId);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transfers by account retrieved successfully");
-        response.put("data", transfers);
-        response.put("count", transfers.size());
+        CursorPage<?> page = transferService.getTransfersByAccount(userId, accountId, ListView.from(view), cursor, limit);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.page("Transfers by account retrieved successfully", page));
     }
 
     @GetMapping("/filter/date-range")
-    public ResponseEntity<Map<String, Object>> getTransfersByDateRange(
+    public ResponseEntity<ApiResponse<List<?>>> getTransfersByDateRange(
             @RequestParam LocalDateTime startDate,
             @RequestParam LocalDateTime endDate,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestHeader("X-User-Id") String userId) {
         log.info("GET /accounts/transfer/filter/date-range - Fetching transfers between {} and {} for user: {}", 
                 startDate, endDate, userId);
         
-        List<TransferDTO> transfers = transferService.getTransfersByDateRange(userId, startDate, endDate);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Transfers by date range retrieved successfully");
-        response.put("startDate", startDate);
-        response.put("endDate", endDate);
-        response.put("data", transfers);
-        response.put("count", transfers.size());
+        CursorPage<?> page = transferService.getTransfersByDateRange(userId, startDate, endDate, ListView.from(view), cursor, limit);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.page("Transfers by date range retrieved successfully", page)
+                .with("startDate", startDate)
+                .with("endDate", endDate));
     }
 }
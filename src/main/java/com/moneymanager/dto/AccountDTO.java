@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -24,7 +25,8 @@ public class AccountDTO {
 
     @NotNull(message = "Balance is required")
     @PositiveOrZero(message = "Balance cannot be negative")
-    private Double balance;
+    @Digits(integer = 15, fraction = 2, message = "Balance can have at most 2 decimal places")
+    private BigDecimal balance;
 
     @Builder.Default
     private String currency = "USD";
@@ -40,5 +42,5 @@ public class AccountDTO {
 
     private String accountNumber;
 
-    private Double initialBalance;
+    private BigDecimal initialBalance;
 }
@@ -0,0 +1,61 @@
+package com.moneymanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Typed response envelope, serialized with the same keys the controllers used to put in a HashMap.
+// Unset components are omitted, including nextCursor on the last page. Endpoint-specific keys go
+// through with().
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApiResponse<T>(boolean success,
+                             String message,
+                             T data,
+                             Integer count,
+                             String nextCursor,
+                             @JsonIgnore Map<String, Object> extra) {
+
+    // Reads a stored response back; extra keys are not replayed
+    @JsonCreator
+    static <T> ApiResponse<T> fromJson(@JsonProperty("success") boolean success,
+                                       @JsonProperty("message") String message,
+                                       @JsonProperty("data") T data,
+                                       @JsonProperty("count") Integer count,
+                                       @JsonProperty("nextCursor") String nextCursor) {
+        return new ApiResponse<>(success, message, data, count, nextCursor, null);
+    }
+
+    public static <T> ApiResponse<T> of(String message, T data) {
+        return new ApiResponse<>(true, message, data, null, null, null);
+    }
+
+    public static <T> ApiResponse<List<T>> list(String message, List<T> items) {
+        return new ApiResponse<>(true, message, items, items.size(), null, null);
+    }
+
+    public static ApiResponse<List<?>> page(String message, CursorPage<?> page) {
+        List<?> items = page.getItems();
+        return new ApiResponse<>(true, message, items, items.size(), page.getNextCursor(), null);
+    }
+
+    public static ApiResponse<Void> message(String message) {
+        return new ApiResponse<>(true, message, null, null, null, null);
+    }
+
+    public ApiResponse<T> with(String key, Object value) {
+        Map<String, Object> fields = extra == null ? new LinkedHashMap<>() : new LinkedHashMap<>(extra);
+        fields.put(key, value);
+        return new ApiResponse<>(success, message, data, count, nextCursor, fields);
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> extras() {
+        return extra == null ? Map.of() : extra;
+    }
+}
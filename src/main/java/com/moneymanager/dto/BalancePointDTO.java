@@ -0,0 +1,21 @@
+package com.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// An account's balance as of an instant: every posting dated strictly before it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalancePointDTO {
+
+    private LocalDateTime date;
+
+    private BigDecimal balance;
+}
@@ -0,0 +1,37 @@
+package com.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResultDTO {
+
+    private int totalRows;
+
+    private int imported;
+
+    private int duplicates;
+
+    private int failed;
+
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        private int row; // 1-based data row, not counting a CSV header
+
+        private String message;
+    }
+}
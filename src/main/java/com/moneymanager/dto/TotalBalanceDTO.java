@@ -0,0 +1,31 @@
+package com.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TotalBalanceDTO {
+
+    private BigDecimal totalBalance;
+
+    private String currency;
+
+    private Map<String, BigDecimal> balancesByCurrency;
+
+    // Currencies in balancesByCurrency with no exchange rate; their balances are not in totalBalance
+    @Builder.Default
+    private List<String> unconvertedCurrencies = new ArrayList<>();
+
+    private LocalDateTime ratesAsOf;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -25,7 +26,8 @@ public class TransactionDTO {
 
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be greater than 0")
-    private Double amount;
+    @Digits(integer = 15, fraction = 2, message = "Amount can have at most 2 decimal places")
+    private BigDecimal amount;
 
     @NotBlank(message = "Category is required")
     private String category;
@@ -0,0 +1,29 @@
+package com.moneymanager.dto;
+
+import com.moneymanager.utils.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Lean list-view row (?view=summary); mapped from a projected Transaction so codes are decoded to names
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionSummaryDTO {
+
+    private String id;
+
+    private String type;
+
+    private String description;
+
+    private Money amount;
+
+    private String category;
+
+    private LocalDateTime transactionDate;
+}
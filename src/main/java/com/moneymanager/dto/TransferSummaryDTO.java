@@ -0,0 +1,29 @@
+package com.moneymanager.dto;
+
+import com.moneymanager.utils.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Lean list-view row (?view=summary); read straight from Mongo as a DTO projection
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransferSummaryDTO {
+
+    private String id;
+
+    private String fromAccountId;
+
+    private String toAccountId;
+
+    private Money amount; // Read from the stored minor units by MongoConfig's converter
+
+    private String description;
+
+    private LocalDateTime transferDate;
+}
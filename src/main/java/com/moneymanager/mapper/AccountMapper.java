@@ -0,0 +1,44 @@
+package com.moneymanager.mapper;
+
+import com.moneymanager.dto.AccountDTO;
+import com.moneymanager.model.Account;
+import com.moneymanager.utils.Money;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountMapper {
+
+    public AccountDTO toDTO(Account account) {
+        AccountDTO dto = new AccountDTO();
+        dto.setId(account.getId());
+        dto.setAccountName(account.getAccountName());
+        dto.setAccountType(account.getAccountType());
+        dto.setBalance(Money.decimal(account.getBalance()));
+        dto.setCurrency(account.getCurrency());
+        dto.setCreatedAt(account.getCreatedAt());
+        dto.setUpdatedAt(account.getUpdatedAt());
+        dto.setActive(account.isActive());
+        dto.setBankName(account.getBankName());
+        dto.setAccountNumber(account.getAccountNumber());
+        dto.setInitialBalance(Money.decimal(account.getInitialBalance()));
+        return dto;
+    }
+
+    public Account toEntity(AccountDTO dto) {
+        Account account = new Account();
+        account.setId(dto.getId());
+        account.setAccountName(dto.getAccountName());
+        account.setAccountType(dto.getAccountType());
+        account.setBalance(Money.minorUnits(dto.getBalance()));
+        account.setCurrency(dto.getCurrency());
+        account.setCreatedAt(dto.getCreatedAt());
+        account.setUpdatedAt(dto.getUpdatedAt());
+        account.setActive(dto.isActive());
+        account.setBankName(dto.getBankName());
+        account.setAccountNumber(dto.getAccountNumber());
+        if (dto.getInitialBalance() != null) {
+            account.setInitialBalance(Money.minorUnits(dto.getInitialBalance()));
+        }
+        return account;
+    }
+}
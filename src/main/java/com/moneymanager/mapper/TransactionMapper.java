@@ -0,0 +1,67 @@
+package com.moneymanager.mapper;
+
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.dto.TransactionSummaryDTO;
+import com.moneymanager.model.CodedEnum;
+import com.moneymanager.model.Division;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionStatus;
+import com.moneymanager.model.TransactionType;
+import com.moneymanager.utils.CategoryTable;
+import com.moneymanager.utils.Money;
+import org.springframework.stereotype.Component;
+
+// Codes are decoded to labels here, at the API boundary; the caller supplies the user's category table
+@Component
+public class TransactionMapper {
+
+    public TransactionDTO toDTO(Transaction transaction, CategoryTable categories) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setId(transaction.getId());
+        dto.setType(label(transaction.getType()));
+        dto.setDescription(transaction.getDescription());
+        dto.setAmount(Money.decimal(transaction.getAmount()));
+        dto.setCategory(categories.name(transaction.getCategory()));
+        dto.setDivision(label(transaction.getDivision()));
+        dto.setTransactionDate(transaction.getTransactionDate());
+        dto.setCreatedAt(transaction.getCreatedAt());
+        dto.setUpdatedAt(transaction.getUpdatedAt());
+        dto.setAccountId(transaction.getAccountId());
+        dto.setNotes(transaction.getNotes());
+        dto.setStatus(label(transaction.getStatus()));
+        return dto;
+    }
+
+    public TransactionSummaryDTO toSummaryDTO(Transaction transaction, CategoryTable categories) {
+        return TransactionSummaryDTO.builder()
+                .id(transaction.getId())
+                .type(label(transaction.getType()))
+                .description(transaction.getDescription())
+                .amount(Money.ofMinor(transaction.getAmount()))
+                .category(categories.name(transaction.getCategory()))
+                .transactionDate(transaction.getTransactionDate())
+                .build();
+    }
+
+    // The category code is resolved by the caller, which knows the user and may intern a new name
+    public Transaction toEntity(TransactionDTO dto, int category) {
+        Transaction transaction = new Transaction();
+        transaction.setId(dto.getId());
+        transaction.setType(TransactionType.fromLabel(dto.getType()));
+        transaction.setDescription(dto.getDescription());
+        transaction.setAmount(Money.minorUnits(dto.getAmount()));
+        transaction.setCategory(category);
+        transaction.setDivision(Division.fromLabel(dto.getDivision()));
+        transaction.setTransactionDate(dto.getTransactionDate());
+        transaction.setCreatedAt(dto.getCreatedAt());
+        transaction.setUpdatedAt(dto.getUpdatedAt());
+        transaction.setAccountId(dto.getAccountId());
+        transaction.setNotes(dto.getNotes());
+        transaction.setStatus(dto.getStatus() == null ? null : TransactionStatus.fromLabel(dto.getStatus()));
+        return transaction;
+    }
+
+    private static String label(CodedEnum value) {
+        return value == null ? null : value.getLabel();
+    }
+}
@@ -0,0 +1,38 @@
+package com.moneymanager.mapper;
+
+import com.moneymanager.dto.TransferDTO;
+import com.moneymanager.model.Transfer;
+import com.moneymanager.utils.Money;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransferMapper {
+
+    public TransferDTO toDTO(Transfer transfer) {
+        TransferDTO dto = new TransferDTO();
+        dto.setId(transfer.getId());
+        dto.setFromAccountId(transfer.getFromAccountId());
+        dto.setToAccountId(transfer.getToAccountId());
+        dto.setAmount(Money.decimal(transfer.getAmount()));
+        dto.setDescription(transfer.getDescription());
+        dto.setTransferDate(transfer.getTransferDate());
+        dto.setCreatedAt(transfer.getCreatedAt());
+        dto.setStatus(transfer.getStatus());
+        dto.setReference(transfer.getReference());
+        return dto;
+    }
+
+    public Transfer toEntity(TransferDTO dto) {
+        Transfer transfer = new Transfer();
+        transfer.setId(dto.getId());
+        transfer.setFromAccountId(dto.getFromAccountId());
+        transfer.setToAccountId(dto.getToAccountId());
+        transfer.setAmount(Money.minorUnits(dto.getAmount()));
+        transfer.setDescription(dto.getDescription());
+        transfer.setTransferDate(dto.getTransferDate());
+        transfer.setCreatedAt(dto.getCreatedAt());
+        transfer.setStatus(dto.getStatus());
+        transfer.setReference(dto.getReference());
+        return transfer;
+    }
+}
@@ -0,0 +1,33 @@
+package com.moneymanager.mapper;
+
+import com.moneymanager.dto.UserDTO;
+import com.moneymanager.model.User;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserMapper {
+
+    public UserDTO toDTO(User user) {
+        UserDTO dto = new UserDTO();
+        dto.setId(user.getId());
+        dto.setEmail(user.getEmail());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setPhoneNumber(user.getPhoneNumber());
+        dto.setProfilePicture(user.getProfilePicture());
+        dto.setPreferredCurrency(user.getPreferredCurrency());
+        return dto;
+    }
+
+    public User toEntity(UserDTO dto) {
+        User user = new User();
+        user.setId(dto.getId());
+        user.setEmail(dto.getEmail());
+        user.setFirstName(dto.getFirstName());
+        user.setLastName(dto.getLastName());
+        user.setPhoneNumber(dto.getPhoneNumber());
+        user.setProfilePicture(dto.getProfilePicture());
+        user.setPreferredCurrency(dto.getPreferredCurrency());
+        return user;
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Document(collection = "accounts")
 @Data
@@ -27,7 +28,7 @@ public class Account {
 
     private String accountType; // SAVINGS, CHECKING, INVESTMENT, etc.
 
-    private Double balance;
+    private long balance; // Minor units (cents)
 
     private String currency; // USD, EUR, etc.
 
@@ -41,5 +42,8 @@ public class Account {
 
     private String accountNumber; // Encrypted in real scenario
 
-    private Double initialBalance;
+    private long initialBalance; // Minor units (cents)
+
+    // Transfers that have moved this balance but are not yet COMPLETED, see TransferService
+    private List<String> pendingTransfers;
 }
@@ -0,0 +1,41 @@
+package com.moneymanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// One signed change to an account's balance. Postings are append-only: an edited or deleted
+// transaction is reversed by a new posting rather than rewritten.
+@Document(collection = "account_postings")
+@CompoundIndex(name = "account_posted", def = "{'accountId': 1, 'postedAt': 1}")
+// Finds the backdated postings created after a checkpoint was taken
+@CompoundIndex(name = "account_created", def = "{'accountId': 1, 'createdAt': 1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountPosting {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String accountId;
+
+    private long amount; // Signed minor units (cents)
+
+    private LocalDateTime postedAt; // Effective date: the transaction or transfer date
+
+    private PostingSource source;
+
+    private String sourceId;
+
+    private LocalDateTime createdAt;
+}
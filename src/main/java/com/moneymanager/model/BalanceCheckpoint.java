@@ -0,0 +1,37 @@
+package com.moneymanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Sum of an account's postings dated before asOf and created by coveredUntil, so balance lookups only add
+// the postings since, plus backdated ones created later. Never updated once written.
+@Document(collection = "balance_checkpoints")
+@CompoundIndex(name = "account_as_of", def = "{'accountId': 1, 'asOf': 1}", unique = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceCheckpoint {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String accountId;
+
+    private LocalDateTime asOf;
+
+    private long balance; // Minor units (cents)
+
+    private LocalDateTime coveredUntil; // Postings created after this are not in balance, whatever their date
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,49 @@
+package com.moneymanager.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Built-in categories share one code space for every user. Anything else a user types is interned
+// per user as a CustomCategory, numbered from CUSTOM_CODE_START.
+@Getter
+@RequiredArgsConstructor
+public enum Category implements CodedEnum {
+    FOOD(1, "Food"),
+    FUEL(2, "Fuel"),
+    MOVIE(3, "Movie"),
+    MEDICAL(4, "Medical"),
+    LOAN(5, "Loan"),
+    ENTERTAINMENT(6, "Entertainment"),
+    UTILITIES(7, "Utilities"),
+    GROCERIES(8, "Groceries"),
+    SALARY(101, "Salary"),
+    FREELANCE(102, "Freelance"),
+    INVESTMENT(103, "Investment"),
+    GIFT(104, "Gift"),
+    BONUS(105, "Bonus");
+
+    public static final int CUSTOM_CODE_START = 1000;
+
+    private final int code;
+    private final String label;
+
+    // Null when the code belongs to a user's custom category
+    public static Category fromCode(int code) {
+        for (Category category : values()) {
+            if (category.code == code) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    // Exact match, as category names have always been compared; null for custom names
+    public static Category fromLabel(String label) {
+        for (Category category : values()) {
+            if (category.label.equals(label)) {
+                return category;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.moneymanager.model;
+
+// Enums persisted as a small stable code instead of their name; see MongoConfig's converter.
+// Codes are part of the stored data, so existing ones must never be renumbered.
+public interface CodedEnum {
+
+    int getCode();
+
+    String getLabel();
+}
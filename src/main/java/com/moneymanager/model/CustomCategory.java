@@ -0,0 +1,32 @@
+package com.moneymanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// A user's own category name and the code transactions store in its place
+@Document(collection = "categories")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_name", def = "{'userId': 1, 'name': 1}", unique = true),
+        @CompoundIndex(name = "user_code", def = "{'userId': 1, 'code': 1}", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomCategory {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String name;
+
+    private int code;
+}
@@ -0,0 +1,33 @@
+package com.moneymanager.model;
+
+import com.moneymanager.exception.InvalidOperationException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Division implements CodedEnum {
+    OFFICE(1, "Office"),
+    PERSONAL(2, "Personal");
+
+    private final int code;
+    private final String label;
+
+    public static Division fromCode(int code) {
+        for (Division division : values()) {
+            if (division.code == code) {
+                return division;
+            }
+        }
+        throw new IllegalArgumentException("Unknown division code: " + code);
+    }
+
+    public static Division fromLabel(String label) {
+        for (Division division : values()) {
+            if (division.label.equalsIgnoreCase(label)) {
+                return division;
+            }
+        }
+        throw new InvalidOperationException("Invalid division: " + label + " (Office or Personal)");
+    }
+}
@@ -0,0 +1,41 @@
+package com.moneymanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Document(collection = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    private String id; // userId + ":" + Idempotency-Key, so the _id index enforces uniqueness
+
+    private String userId;
+
+    private String endpoint;
+
+    private String requestHash; // SHA-256 of the request body as JSON
+
+    private LocalDateTime lockedUntil; // Lease on a PENDING claim; a retry may take over once it passes
+
+    private String status; // PENDING, COMPLETED
+
+    private int responseStatus;
+
+    private String responseBody; // Serialized JSON of the original response
+
+    private LocalDateTime createdAt;
+
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+}
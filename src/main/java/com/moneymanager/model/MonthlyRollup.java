@@ -0,0 +1,40 @@
+package com.moneymanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "monthly_rollups")
+@CompoundIndex(name = "rollup_key", unique = true,
+        def = "{'userId': 1, 'year': 1, 'month': 1, 'type': 1, 'category': 1, 'division': 1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyRollup {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private int year;
+
+    private int month;
+
+    private TransactionType type;
+
+    private int category; // Same code the bucket's transactions store
+
+    private Division division;
+
+    private long total; // Sum of amounts (minor units) of non-deleted transactions in this bucket
+
+    private long count;
+
+    private long version; // Bumped by every write, so a rebuild can compare-and-set against it
+}
@@ -0,0 +1,26 @@
+package com.moneymanager.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// What moved an account's balance; stored as a code like the other coded enums
+@Getter
+@RequiredArgsConstructor
+public enum PostingSource implements CodedEnum {
+    OPENING(1, "OPENING"),
+    ADJUSTMENT(2, "ADJUSTMENT"),
+    TRANSACTION(3, "TRANSACTION"),
+    TRANSFER(4, "TRANSFER");
+
+    private final int code;
+    private final String label;
+
+    public static PostingSource fromCode(int code) {
+        for (PostingSource source : values()) {
+            if (source.code == code) {
+                return source;
+            }
+        }
+        throw new IllegalArgumentException("Unknown posting source code: " + code);
+    }
+}
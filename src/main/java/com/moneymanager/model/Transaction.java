@@ -5,33 +5,44 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDateTime;
 
-@Document(collection = "transactions")
+// Regular or time-series collection depending on app.mongo.transaction-storage, see TransactionStorage
+@Document(collection = "#{@transactionStorage.collection}")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_deleted_date", def = "{'userId': 1, 'isDeleted': 1, 'transactionDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "user_deleted_type_date", def = "{'userId': 1, 'isDeleted': 1, 'type': 1, 'transactionDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "user_deleted_category_date", def = "{'userId': 1, 'isDeleted': 1, 'category': 1, 'transactionDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "user_deleted_division_date", def = "{'userId': 1, 'isDeleted': 1, 'division': 1, 'transactionDate': -1, '_id': -1}"),
+        // user_import_hash is created by TransactionStorage, unique only where the storage mode allows it
+        // Only tombstones are indexed; drives the archival job's oldest-first batches
+        @CompoundIndex(name = "deleted_at", def = "{'deletedAt': 1}",
+                partialFilter = "{'isDeleted': true}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Transaction {
 
     @Id
     private String id;
 
-    @Indexed
     private String userId;
 
-    private String type; // INCOME or EXPENSE
+    private TransactionType type;
 
     private String description;
 
-    private Double amount;
+    private long amount; // Minor units (cents), see Money
 
-    private String category; // Food, Fuel, Movie, Medical, Loan, Salary, Freelance, etc.
+    private int category; // Category code or the user's CustomCategory code, see CategoryDictionary
 
-    private String division; // Office or Personal
+    private Division division;
 
     private LocalDateTime transactionDate;
 
@@ -47,21 +58,23 @@ public class Transaction {
 
     private String notes;
 
-    private String status; // PENDING, COMPLETED, FAILED
+    private TransactionStatus status;
+
+    private String importHash; // Content hash of imported rows, used to skip re-imports
 
     @Override
     public String toString() {
         return "Transaction{" +
                 "id='" + id + '\'' +
                 ", userId='" + userId + '\'' +
-                ", type='" + type + '\'' +
+                ", type=" + type +
                 ", description='" + description + '\'' +
                 ", amount=" + amount +
-                ", category='" + category + '\'' +
-                ", division='" + division + '\'' +
+                ", category=" + category +
+                ", division=" + division +
                 ", transactionDate=" + transactionDate +
                 ", createdAt=" + createdAt +
-                ", status='" + status + '\'' +
+                ", status=" + status +
                 '}';
     }
 }
@@ -0,0 +1,34 @@
+package com.moneymanager.model;
+
+import com.moneymanager.exception.InvalidOperationException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TransactionStatus implements CodedEnum {
+    PENDING(1, "PENDING"),
+    COMPLETED(2, "COMPLETED"),
+    FAILED(3, "FAILED");
+
+    private final int code;
+    private final String label;
+
+    public static TransactionStatus fromCode(int code) {
+        for (TransactionStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown transaction status code: " + code);
+    }
+
+    public static TransactionStatus fromLabel(String label) {
+        for (TransactionStatus status : values()) {
+            if (status.label.equalsIgnoreCase(label)) {
+                return status;
+            }
+        }
+        throw new InvalidOperationException("Invalid transaction status: " + label);
+    }
+}
@@ -0,0 +1,33 @@
+package com.moneymanager.model;
+
+import com.moneymanager.exception.InvalidOperationException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TransactionType implements CodedEnum {
+    INCOME(1, "INCOME"),
+    EXPENSE(2, "EXPENSE");
+
+    private final int code;
+    private final String label;
+
+    public static TransactionType fromCode(int code) {
+        for (TransactionType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown transaction type code: " + code);
+    }
+
+    public static TransactionType fromLabel(String label) {
+        for (TransactionType type : values()) {
+            if (type.label.equalsIgnoreCase(label)) {
+                return type;
+            }
+        }
+        throw new InvalidOperationException("Invalid transaction type: " + label + " (INCOME or EXPENSE)");
+    }
+}
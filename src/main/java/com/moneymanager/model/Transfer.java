@@ -5,12 +5,24 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "transfers")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_date", def = "{'userId': 1, 'transferDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "user_status", def = "{'userId': 1, 'status': 1}"),
+        // One index per $or branch of the account history query; each returns rows already in
+        // page order, so the server merges them without an in-memory sort
+        @CompoundIndex(name = "user_from_account_date", def = "{'userId': 1, 'fromAccountId': 1, 'transferDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "user_to_account_date", def = "{'userId': 1, 'toAccountId': 1, 'transferDate': -1, '_id': -1}"),
+        // Only in-flight transfers are indexed; drives TransferRecoveryJob
+        @CompoundIndex(name = "pending_created", def = "{'createdAt': 1}",
+                partialFilter = "{'status': 'PENDING'}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,14 +32,13 @@ public class Transfer {
     @Id
     private String id;
 
-    @Indexed
     private String userId;
 
     private String fromAccountId;
 
     private String toAccountId;
 
-    private Double amount;
+    private long amount; // Minor units (cents)
 
     private String description;
 
@@ -16,6 +16,8 @@ public interface AccountRepository extends MongoRepository<Account, String> {
 
     Optional<Account> findByIdAndUserId(String id, String userId);
 
+    boolean existsByIdAndUserId(String id, String userId);
+
     List<Account> findByUserIdAndAccountType(String userId, String accountType);
 
     boolean existsByUserIdAndAccountNumber(String userId, String accountNumber);
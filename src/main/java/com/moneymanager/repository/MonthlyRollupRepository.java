@@ -0,0 +1,17 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.model.MonthlyRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MonthlyRollupRepository extends MongoRepository<MonthlyRollup, String> {
+
+    List<MonthlyRollup> findByUserId(String userId);
+
+    List<MonthlyRollup> findByUserIdAndYear(String userId, int year);
+
+    List<MonthlyRollup> findByUserIdAndYearAndMonth(String userId, int year, int month);
+}
@@ -12,10 +12,6 @@ public interface TransferRepository extends MongoRepository<Transfer, String> {
 
     List<Transfer> findByUserId(String userId);
 
-    List<Transfer> findByFromAccountId(String fromAccountId);
-
-    List<Transfer> findByToAccountId(String toAccountId);
-
     List<Transfer> findByUserIdAndTransferDateBetween(String userId, LocalDateTime startDate, LocalDateTime endDate);
 
     List<Transfer> findByUserIdAndStatus(String userId, String status);
@@ -0,0 +1,15 @@
+package com.moneymanager.repository.reactive;
+
+import com.moneymanager.model.Account;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveAccountRepository extends ReactiveMongoRepository<Account, String> {
+
+    Flux<Account> findByUserIdAndIsActiveTrue(String userId);
+
+    Mono<Account> findByIdAndUserId(String id, String userId);
+}
@@ -0,0 +1,16 @@
+package com.moneymanager.repository.reactive;
+
+import com.moneymanager.model.MonthlyRollup;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveMonthlyRollupRepository extends ReactiveMongoRepository<MonthlyRollup, String> {
+
+    Flux<MonthlyRollup> findByUserId(String userId);
+
+    Flux<MonthlyRollup> findByUserIdAndYear(String userId, int year);
+
+    Flux<MonthlyRollup> findByUserIdAndYearAndMonth(String userId, int year, int month);
+}
@@ -0,0 +1,16 @@
+package com.moneymanager.repository.reactive;
+
+import com.moneymanager.model.Transfer;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReactiveTransferRepository extends ReactiveMongoRepository<Transfer, String> {
+
+    Flux<Transfer> findByUserId(String userId);
+
+    Flux<Transfer> findByUserIdAndTransferDateBetween(String userId, LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -1,15 +1,35 @@
 package com.moneymanager.service;
 
 import com.moneymanager.dto.AccountDTO;
+import com.moneymanager.dto.BalancePointDTO;
+import com.moneymanager.dto.TotalBalanceDTO;
+import com.moneymanager.exception.InvalidOperationException;
+import com.moneymanager.mapper.AccountMapper;
 import com.moneymanager.model.Account;
+import com.moneymanager.model.PostingSource;
+import com.moneymanager.model.User;
 import com.moneymanager.repository.AccountRepository;
+import com.moneymanager.repository.UserRepository;
+import com.moneymanager.utils.BalanceInterval;
+import com.moneymanager.utils.Constants;
+import com.moneymanager.utils.Money;
+import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.bson.Document;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,22 +38,29 @@ import java.util.stream.Collectors;
 public class AccountService {
 
     private final AccountRepository accountRepository;
-    private final ModelMapper modelMapper;
+    private final MongoTemplate mongoTemplate;
+    private final AccountMapper accountMapper;
+    private final UserRepository userRepository;
+    private final FxRateService fxRateService;
+    private final LedgerService ledgerService;
 
+    @CacheEvict(cacheNames = Constants.CACHE_TOTAL_BALANCE, key = "#userId")
     public AccountDTO createAccount(String userId, AccountDTO accountDTO) {
         log.info("Creating account for user: {}", userId);
         
-        Account account = modelMapper.map(accountDTO, Account.class);
+        Account account = accountMapper.toEntity(accountDTO);
         account.setUserId(userId);
         account.setCreatedAt(LocalDateTime.now());
         account.setUpdatedAt(LocalDateTime.now());
         account.setActive(true);
-        account.setInitialBalance(accountDTO.getBalance());
+        account.setInitialBalance(account.getBalance());
 
         Account savedAccount = accountRepository.save(account);
+        ledgerService.post(userId, savedAccount.getId(), savedAccount.getInitialBalance(), savedAccount.getCreatedAt(),
+                PostingSource.OPENING, savedAccount.getId());
         log.info("Account created successfully: {}", savedAccount.getId());
         
-        return modelMapper.map(savedAccount, AccountDTO.class);
+        return accountMapper.toDTO(savedAccount);
     }
 
     public AccountDTO getAccountById(String userId, String accountId) {
@@ -42,7 +69,7 @@ public class AccountService {
         Account account = accountRepository.findByIdAndUserId(accountId, userId)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
 
-        return modelMapper.map(account, AccountDTO.class);
+        return accountMapper.toDTO(account);
     }
 
     public List<AccountDTO> getAllAccounts(String userId) {
@@ -50,7 +77,7 @@ public class AccountService {
         
         return accountRepository.findByUserId(userId)
                 .stream()
-                .map(account -> modelMapper.map(account, AccountDTO.class))
+                .map(accountMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
@@ -59,46 +86,103 @@ public class AccountService {
         
         return accountRepository.findByUserIdAndIsActiveTrue(userId)
                 .stream()
-                .map(account -> modelMapper.map(account, AccountDTO.class))
+                .map(accountMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @CacheEvict(cacheNames = Constants.CACHE_TOTAL_BALANCE, key = "#userId")
     public AccountDTO updateAccount(String userId, String accountId, AccountDTO accountDTO) {
         log.info("Updating account: {} for user: {}", accountId, userId);
-        
-        Account account = accountRepository.findByIdAndUserId(accountId, userId)
-                .orElseThrow(() -> new RuntimeException("Account not found"));
 
-        account.setAccountName(accountDTO.getAccountName());
-        account.setBalance(accountDTO.getBalance());
-        account.setBankName(accountDTO.getBankName());
-        account.setUpdatedAt(LocalDateTime.now());
-
-        Account updatedAccount = accountRepository.save(account);
+        // Targeted $set instead of save(): a full-document write would overwrite
+        // balance changes made by concurrent transfers
+        long balance = Money.minorUnits(accountDTO.getBalance());
+        LocalDateTime now = LocalDateTime.now();
+        Account previous = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(accountId).and("userId").is(userId)),
+                new Update()
+                        .set("accountName", accountDTO.getAccountName())
+                        .set("balance", balance)
+                        .set("bankName", accountDTO.getBankName())
+                        .set("updatedAt", now),
+                Account.class);
+
+        if (previous == null) {
+            throw new RuntimeException("Account not found");
+        }
+        // A balance typed in by hand is recorded as an adjustment, so the ledger still sums to it
+        ledgerService.post(userId, accountId, balance - previous.getBalance(), now,
+                PostingSource.ADJUSTMENT, accountId);
         log.info("Account updated successfully: {}", accountId);
-        
-        return modelMapper.map(updatedAccount, AccountDTO.class);
+
+        previous.setAccountName(accountDTO.getAccountName());
+        previous.setBalance(balance);
+        previous.setBankName(accountDTO.getBankName());
+        previous.setUpdatedAt(now);
+        return accountMapper.toDTO(previous);
     }
 
+    @CacheEvict(cacheNames = Constants.CACHE_TOTAL_BALANCE, key = "#userId")
     public void deactivateAccount(String userId, String accountId) {
         log.info("Deactivating account: {} for user: {}", accountId, userId);
-        
-        Account account = accountRepository.findByIdAndUserId(accountId, userId)
-                .orElseThrow(() -> new RuntimeException("Account not found"));
 
-        account.setActive(false);
-        account.setUpdatedAt(LocalDateTime.now());
-        accountRepository.save(account);
+        UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(accountId).and("userId").is(userId)),
+                new Update().set("isActive", false).set("updatedAt", LocalDateTime.now()),
+                Account.class);
+
+        if (result.getMatchedCount() == 0) {
+            throw new RuntimeException("Account not found");
+        }
         
         log.info("Account deactivated successfully: {}", accountId);
     }
 
-    public Double getTotalBalance(String userId) {
+    public BalancePointDTO getBalanceAsOf(String userId, String accountId, LocalDateTime at) {
+        log.info("Fetching balance of account: {} as of {} for user: {}", accountId, at, userId);
+
+        requireOwned(userId, accountId);
+        return new BalancePointDTO(at, Money.decimal(ledgerService.balanceAsOf(accountId, at)));
+    }
+
+    public List<BalancePointDTO> getBalanceHistory(String userId, String accountId, LocalDateTime startDate,
+                                                   LocalDateTime endDate, BalanceInterval interval) {
+        log.info("Fetching balance history of account: {} between {} and {} for user: {}",
+                accountId, startDate, endDate, userId);
+
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidOperationException("startDate must not be after endDate");
+        }
+        requireOwned(userId, accountId);
+        return ledgerService.balanceHistory(accountId, startDate, endDate, interval);
+    }
+
+    private void requireOwned(String userId, String accountId) {
+        if (!accountRepository.existsByIdAndUserId(accountId, userId)) {
+            throw new RuntimeException("Account not found");
+        }
+    }
+
+    @Cacheable(cacheNames = Constants.CACHE_TOTAL_BALANCE, key = "#userId")
+    public TotalBalanceDTO getTotalBalance(String userId) {
         log.info("Calculating total balance for user: {}", userId);
-        
-        return accountRepository.findByUserIdAndIsActiveTrue(userId)
-                .stream()
-                .mapToDouble(Account::getBalance)
-                .sum();
+
+        // One sum per currency server-side; conversion happens once per currency, not per account
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId).and("isActive").is(true)),
+                Aggregation.group("currency").sum("balance").as("total"));
+
+        Map<String, Long> balancesByCurrency = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Account.class, Document.class).getMappedResults()) {
+            Number total = (Number) row.get("total");
+            balancesByCurrency.merge(fxRateService.resolveCurrency(row.getString("_id")),
+                    total == null ? 0 : total.longValue(), Long::sum);
+        }
+
+        String preferredCurrency = userRepository.findById(userId)
+                .map(User::getPreferredCurrency)
+                .orElse(null);
+
+        return fxRateService.total(balancesByCurrency, preferredCurrency);
     }
 }
@@ -0,0 +1,102 @@
+package com.moneymanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moneymanager.model.CustomCategory;
+import com.moneymanager.utils.CategoryTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Per-user dictionary behind the category codes stored on transactions and rollups. Tables are cached;
+// Mongo's unique (userId, name) and (userId, code) indexes arbitrate between nodes interning at once.
+@Service
+@Slf4j
+public class CategoryDictionary {
+
+    private static final int MAX_INTERN_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final Cache<String, CategoryTable> tables;
+
+    public CategoryDictionary(MongoTemplate mongoTemplate,
+                              @Value("${app.categories.cache-size:10000}") long cacheSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.tables = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    public CategoryTable forUser(String userId) {
+        return tables.get(userId, this::load);
+    }
+
+    // Table that can decode every given code; reloads once if another node interned one meanwhile
+    public CategoryTable forUser(String userId, Iterable<Integer> codes) {
+        CategoryTable table = forUser(userId);
+        for (int code : codes) {
+            if (!table.contains(code)) {
+                return reload(userId);
+            }
+        }
+        return table;
+    }
+
+    // Lookup only, for filters: null means the user has no such category, so nothing can match
+    public Integer find(String userId, String name) {
+        Integer code = forUser(userId).code(name);
+        if (code == null) {
+            code = reload(userId).code(name);
+        }
+        return code;
+    }
+
+    // Code to store for a category name, interning the name for this user on first use
+    public int encode(String userId, String name) {
+        Integer code = forUser(userId).code(name);
+        return code != null ? code : intern(userId, name);
+    }
+
+    private int intern(String userId, String name) {
+        for (int attempt = 0; attempt < MAX_INTERN_ATTEMPTS; attempt++) {
+            CategoryTable table = reload(userId);
+            Integer existing = table.code(name);
+            if (existing != null) {
+                return existing;
+            }
+            int code = table.nextCustomCode();
+            try {
+                mongoTemplate.insert(CustomCategory.builder().userId(userId).name(name).code(code).build());
+            } catch (DuplicateKeyException e) {
+                // Another request took the name or the code first; re-read and try again
+                continue;
+            }
+            log.info("Interned category '{}' as {} for user: {}", name, code, userId);
+            tables.put(userId, table.with(name, code));
+            return code;
+        }
+        throw new RuntimeException("Could not allocate a code for category: " + name);
+    }
+
+    private CategoryTable reload(String userId) {
+        CategoryTable table = load(userId);
+        tables.put(userId, table);
+        return table;
+    }
+
+    private CategoryTable load(String userId) {
+        Map<Integer, String> names = new HashMap<>();
+        for (CustomCategory category : mongoTemplate.find(
+                new Query(Criteria.where("userId").is(userId)), CustomCategory.class)) {
+            names.put(category.getCode(), category.getName());
+        }
+        return new CategoryTable(names);
+    }
+}
@@ -1,145 +1,320 @@
 package com.moneymanager.service;
 
-import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.dto.CursorPage;
+import com.moneymanager.dto.TransactionSummaryDTO;
+import com.moneymanager.mapper.TransactionMapper;
+import com.moneymanager.model.CodedEnum;
+import com.moneymanager.model.Division;
+import com.moneymanager.model.MonthlyRollup;
 import com.moneymanager.model.Transaction;
-import com.moneymanager.repository.TransactionRepository;
+import com.moneymanager.model.TransactionType;
+import com.moneymanager.utils.CategoryTable;
+import com.moneymanager.utils.Constants;
+import com.moneymanager.utils.Money;
+import com.moneymanager.utils.PageCursor;
+import com.moneymanager.utils.ReportDetail;
+import com.moneymanager.utils.ReportPeriod;
+import com.moneymanager.utils.TransactionColumns;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.YearMonth;
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DashboardService {
 
-    private final TransactionRepository transactionRepository;
+    private static final int DEFAULT_TOP = 10;
 
+    private final MongoTemplate mongoTemplate;
+    private final RollupService rollupService;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionMapper transactionMapper;
+    private final TransactionAnalytics transactionAnalytics;
+
+    @Cacheable(cacheNames = Constants.CACHE_MONTHLY_REPORT,
+            key = "T(com.moneymanager.service.ReportCache).monthlyKey(#userId, #year, #month)")
     public Map<String, Object> getMonthlyReport(String userId, int month, int year) {
         log.info("Generating monthly report for user: {} for {}-{}", userId, month, year);
         
-        LocalDateTime startDate = LocalDateTime.of(year, month, 1, 0, 0);
-        LocalDateTime endDate = LocalDateTime.of(year, month, 28, 23, 59, 59); // Simplified
-
-        List<Transaction> transactions = transactionRepository
-                .findTransactionsByDateRange(userId, startDate, endDate);
-
-        double totalIncome = transactions.stream()
-                .filter(t -> "INCOME".equals(t.getType()))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-
-        double totalExpense = transactions.stream()
-                .filter(t -> "EXPENSE".equals(t.getType()))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+        ReportPeriod period = ReportPeriod.month(year, month);
 
         Map<String, Object> report = new HashMap<>();
         report.put("month", month);
         report.put("year", year);
-        report.put("totalIncome", totalIncome);
-        report.put("totalExpense", totalExpense);
-        report.put("netBalance", totalIncome - totalExpense);
-        report.put("transactionCount", transactions.size());
-        report.put("data", transactions);
+        putPeriod(report, period);
+        putRollupTotals(report, rollupService.getRollups(userId, year, month));
 
         return report;
     }
 
+    @Cacheable(cacheNames = Constants.CACHE_WEEKLY_REPORT,
+            key = "T(com.moneymanager.service.ReportCache).weeklyKey(#userId, #year, #week)")
     public Map<String, Object> getWeeklyReport(String userId, int week, int year) {
         log.info("Generating weekly report for user: {} for week {} of {}", userId, week, year);
         
-        // Simplified week calculation
-        LocalDateTime startDate = LocalDateTime.of(year, 1, 1, 0, 0, 0).plusWeeks(week - 1);
-        LocalDateTime endDate = startDate.plusDays(7);
-
-        List<Transaction> transactions = transactionRepository
-                .findTransactionsByDateRange(userId, startDate, endDate);
-
-        double totalIncome = transactions.stream()
-                .filter(t -> "INCOME".equals(t.getType()))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-
-        double totalExpense = transactions.stream()
-                .filter(t -> "EXPENSE".equals(t.getType()))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+        ReportPeriod period = ReportPeriod.isoWeek(year, week);
 
         Map<String, Object> report = new HashMap<>();
         report.put("week", week);
         report.put("year", year);
-        report.put("startDate", startDate);
-        report.put("endDate", endDate);
-        report.put("totalIncome", totalIncome);
-        report.put("totalExpense", totalExpense);
-        report.put("netBalance", totalIncome - totalExpense);
-        report.put("transactionCount", transactions.size());
-        report.put("data", transactions);
+        putPeriod(report, period);
+        putTypeTotals(report, userId, period);
 
         return report;
     }
 
+    @Cacheable(cacheNames = Constants.CACHE_YEARLY_REPORT,
+            key = "T(com.moneymanager.service.ReportCache).yearlyKey(#userId, #year)")
     public Map<String, Object> getYearlyReport(String userId, int year) {
         log.info("Generating yearly report for user: {} for year {}", userId, year);
         
-        LocalDateTime startDate = LocalDateTime.of(year, 1, 1, 0, 0);
-        LocalDateTime endDate = LocalDateTime.of(year, 12, 31, 23, 59, 59);
+        ReportPeriod period = ReportPeriod.year(year);
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("year", year);
+        putPeriod(report, period);
+        putRollupTotals(report, rollupService.getRollups(userId, year));
 
-        List<Transaction> transactions = transactionRepository
-                .findTransactionsByDateRange(userId, startDate, endDate);
+        return report;
+    }
 
-        double totalIncome = transactions.stream()
-                .filter(t -> "INCOME".equals(t.getType()))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+    // Ad-hoc window, optionally narrowed to one type, category or division. Not cached: ranges rarely repeat.
+    public Map<String, Object> getRangeReport(String userId, ReportPeriod period, String type, String category,
+                                              String division) {
+        log.info("Generating range report for user: {} from {} to {}", userId, period.start(), period.end());
 
-        double totalExpense = transactions.stream()
-                .filter(t -> "EXPENSE".equals(t.getType()))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+        TransactionType typeCode = type == null ? null : TransactionType.fromLabel(type);
+        Division divisionCode = division == null ? null : Division.fromLabel(division);
+        Integer categoryCode = category == null ? null : categoryDictionary.find(userId, category);
 
         Map<String, Object> report = new HashMap<>();
-        report.put("year", year);
-        report.put("totalIncome", totalIncome);
-        report.put("totalExpense", totalExpense);
-        report.put("netBalance", totalIncome - totalExpense);
-        report.put("transactionCount", transactions.size());
-        report.put("data", transactions);
+        putPeriod(report, period);
+        if (category != null && categoryCode == null) {
+            // A name this user has never used matches nothing
+            putTypeTotals(report, List.of());
+            return report;
+        }
 
+        if (transactionAnalytics.isEnabled()) {
+            TransactionColumns.Totals totals = transactionAnalytics.snapshot(userId).totals(period.start(),
+                    period.end(), code(typeCode), categoryCode == null ? TransactionColumns.ANY : categoryCode,
+                    code(divisionCode));
+            putTotals(report, totals.income(), totals.expense());
+            report.put("transactionCount", totals.count());
+            return report;
+        }
+
+        Criteria criteria = periodCriteria(userId, period);
+        if (typeCode != null) {
+            criteria.and("type").is(typeCode);
+        }
+        if (categoryCode != null) {
+            criteria.and("category").is(categoryCode);
+        }
+        if (divisionCode != null) {
+            criteria.and("division").is(divisionCode);
+        }
+        putTypeTotals(report, mongoTemplate.aggregate(typeTotalsAggregation(criteria), Transaction.class, Document.class)
+                .getMappedResults());
         return report;
     }
 
+    private static int code(CodedEnum value) {
+        return value == null ? TransactionColumns.ANY : value.getCode();
+    }
+
+    // Reports are cached without transactions; the requested detail is attached to a copy per call
+    public Map<String, Object> withDetail(Map<String, Object> report, String userId, ReportPeriod period,
+                                          ReportDetail detail, String cursor, Integer limit) {
+        if (detail == ReportDetail.NONE) {
+            return report;
+        }
+        Query query = detailQuery(userId, period, detail, cursor, limit);
+        List<Transaction> transactions = mongoTemplate.find(query, Transaction.class);
+        CategoryTable categories = categoryDictionary.forUser(userId, TransactionService.categoryCodes(transactions));
+        return putDetail(report, detail, summaries(transactionMapper, transactions, categories), limit);
+    }
+
+    @Cacheable(cacheNames = Constants.CACHE_CATEGORY_REPORT, key = "#userId")
     public Map<String, Object> getCategoryReport(String userId) {
         log.info("Generating category report for user: {}", userId);
-        
-        List<Transaction> transactions = transactionRepository.findByUserId(userId);
-
-        Map<String, Double> categoryExpenses = new HashMap<>();
-        Map<String, Double> categoryIncomes = new HashMap<>();
-
-        for (Transaction transaction : transactions) {
-            if ("EXPENSE".equals(transaction.getType())) {
-                categoryExpenses.merge(transaction.getCategory(), 
-                        transaction.getAmount(), Double::sum);
-            } else if ("INCOME".equals(transaction.getType())) {
-                categoryIncomes.merge(transaction.getCategory(), 
-                        transaction.getAmount(), Double::sum);
+
+        List<MonthlyRollup> rollups = rollupService.getRollups(userId);
+        return categoryReport(rollups, categoryDictionary.forUser(userId, categoryCodes(rollups)));
+    }
+
+    static List<Integer> categoryCodes(List<MonthlyRollup> rollups) {
+        return rollups.stream().map(MonthlyRollup::getCategory).toList();
+    }
+
+    static List<TransactionSummaryDTO> summaries(TransactionMapper mapper, List<Transaction> transactions,
+                                                 CategoryTable categories) {
+        return transactions.stream().map(transaction -> mapper.toSummaryDTO(transaction, categories)).toList();
+    }
+
+    // Folded by category code; names are looked up once per category when the response is built
+    static Map<String, Object> categoryReport(List<MonthlyRollup> rollups, CategoryTable categories) {
+        Map<Integer, long[]> categoryExpenses = new HashMap<>();
+        Map<Integer, long[]> categoryIncomes = new HashMap<>();
+        long totalExpense = 0;
+        long totalIncome = 0;
+
+        // Rollups are already bucketed by category; fold months and divisions together
+        for (MonthlyRollup rollup : rollups) {
+            if (rollup.getCount() <= 0) {
+                continue;
+            }
+            if (rollup.getType() == TransactionType.EXPENSE) {
+                accumulate(categoryExpenses, rollup.getCategory(), rollup.getTotal());
+                totalExpense += rollup.getTotal();
+            } else if (rollup.getType() == TransactionType.INCOME) {
+                accumulate(categoryIncomes, rollup.getCategory(), rollup.getTotal());
+                totalIncome += rollup.getTotal();
             }
         }
 
         Map<String, Object> report = new HashMap<>();
-        report.put("categoryExpenses", categoryExpenses);
-        report.put("categoryIncomes", categoryIncomes);
-        report.put("totalExpense", categoryExpenses.values().stream().mapToDouble(Double::doubleValue).sum());
-        report.put("totalIncome", categoryIncomes.values().stream().mapToDouble(Double::doubleValue).sum());
+        report.put("categoryExpenses", decimals(categoryExpenses, categories));
+        report.put("categoryIncomes", decimals(categoryIncomes, categories));
+        report.put("totalExpense", Money.decimal(totalExpense));
+        report.put("totalIncome", Money.decimal(totalIncome));
+
+        return report;
+    }
+
+    // Sums stay primitive minor units per key; decimals are produced once for the response
+    private static void accumulate(Map<Integer, long[]> totals, int code, long amount) {
+        totals.computeIfAbsent(code, k -> new long[1])[0] += amount;
+    }
+
+    private static Map<String, BigDecimal> decimals(Map<Integer, long[]> totals, CategoryTable categories) {
+        Map<String, BigDecimal> decimals = new HashMap<>();
+        totals.forEach((code, total) -> decimals.put(categories.name(code), Money.decimal(total[0])));
+        return decimals;
+    }
+
+    static void putRollupTotals(Map<String, Object> report, List<MonthlyRollup> rollups) {
+        long totalIncome = 0;
+        long totalExpense = 0;
+        long transactionCount = 0;
+
+        for (MonthlyRollup rollup : rollups) {
+            if (rollup.getType() == TransactionType.INCOME) {
+                totalIncome += rollup.getTotal();
+            } else if (rollup.getType() == TransactionType.EXPENSE) {
+                totalExpense += rollup.getTotal();
+            }
+            transactionCount += rollup.getCount();
+        }
+
+        putTotals(report, totalIncome, totalExpense);
+        report.put("transactionCount", (int) transactionCount);
+    }
+
+    private void putTypeTotals(Map<String, Object> report, String userId, ReportPeriod period) {
+        if (transactionAnalytics.isEnabled()) {
+            TransactionColumns.Totals totals = transactionAnalytics.snapshot(userId).totals(period.start(),
+                    period.end(), TransactionColumns.ANY, TransactionColumns.ANY, TransactionColumns.ANY);
+            putTotals(report, totals.income(), totals.expense());
+            report.put("transactionCount", totals.count());
+            return;
+        }
+        List<Document> rows = mongoTemplate
+                .aggregate(typeTotalsAggregation(userId, period), Transaction.class, Document.class)
+                .getMappedResults();
+        putTypeTotals(report, rows);
+    }
+
+    static Aggregation typeTotalsAggregation(String userId, ReportPeriod period) {
+        return typeTotalsAggregation(periodCriteria(userId, period));
+    }
+
+    private static Aggregation typeTotalsAggregation(Criteria criteria) {
+        return Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group("type").sum("amount").as("total").count().as("count"));
+    }
 
+    static Criteria periodCriteria(String userId, ReportPeriod period) {
+        return TransactionService.activeTransactions(userId)
+                .and("transactionDate").gte(period.start()).lt(period.end());
+    }
+
+    static void putPeriod(Map<String, Object> report, ReportPeriod period) {
+        report.put("startDate", period.start());
+        report.put("endDate", period.end());
+    }
+
+    static Query detailQuery(String userId, ReportPeriod period, ReportDetail detail, String cursor, Integer limit) {
+        Query query;
+        if (detail == ReportDetail.TOP) {
+            query = new Query(periodCriteria(userId, period))
+                    .with(Sort.by(Sort.Direction.DESC, "amount", "id"))
+                    .limit(topLimit(limit));
+        } else {
+            query = PageCursor.pageQuery(periodCriteria(userId, period), cursor,
+                    PageCursor.resolveLimit(limit), "transactionDate");
+        }
+        query.fields().include(TransactionService.SUMMARY_FIELDS);
+        return query;
+    }
+
+    static Map<String, Object> putDetail(Map<String, Object> cached, ReportDetail detail,
+                                         List<TransactionSummaryDTO> rows, Integer limit) {
+        Map<String, Object> report = new HashMap<>(cached);
+        if (detail == ReportDetail.TOP) {
+            report.put("data", rows);
+        } else {
+            CursorPage<TransactionSummaryDTO> page = PageCursor.toPage(rows, PageCursor.resolveLimit(limit),
+                    TransactionSummaryDTO::getTransactionDate, TransactionSummaryDTO::getId, Function.identity());
+            report.put("data", page.getItems());
+            report.put("nextCursor", page.getNextCursor());
+        }
         return report;
     }
+
+    private static int topLimit(Integer limit) {
+        return limit == null || limit <= 0 ? DEFAULT_TOP : Math.min(limit, Constants.MAX_PAGE_SIZE);
+    }
+
+    static void putTypeTotals(Map<String, Object> report, List<Document> rows) {
+        long totalIncome = 0;
+        long totalExpense = 0;
+        int transactionCount = 0;
+
+        for (Document row : rows) {
+            // Grouped on the stored type code
+            TransactionType type = TransactionType.fromCode(((Number) row.get("_id")).intValue());
+            long total = row.get("total") == null ? 0 : ((Number) row.get("total")).longValue();
+            if (type == TransactionType.INCOME) {
+                totalIncome = total;
+            } else if (type == TransactionType.EXPENSE) {
+                totalExpense = total;
+            }
+            transactionCount += ((Number) row.get("count")).intValue();
+        }
+
+        putTotals(report, totalIncome, totalExpense);
+        report.put("transactionCount", transactionCount);
+    }
+
+    private static void putTotals(Map<String, Object> report, long totalIncome, long totalExpense) {
+        report.put("totalIncome", Money.decimal(totalIncome));
+        report.put("totalExpense", Money.decimal(totalExpense));
+        report.put("netBalance", Money.decimal(totalIncome - totalExpense));
+    }
 }
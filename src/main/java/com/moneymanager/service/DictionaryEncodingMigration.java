@@ -0,0 +1,214 @@
+package com.moneymanager.service;
+
+import com.moneymanager.config.TransactionStorage;
+import com.moneymanager.model.CodedEnum;
+import com.moneymanager.model.Division;
+import com.moneymanager.model.MonthlyRollup;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionStatus;
+import com.moneymanager.model.TransactionType;
+import com.moneymanager.utils.Constants;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Rewrites type, division and status names into their enum codes and category names into per-user
+// dictionary codes. Runs once, as a deploy step (the migrate profile), since coded fields cannot read
+// strings. Fixed-set labels match case-insensitively. An unrecognised type stops the migration before
+// anything is rewritten, since guessing it would flip the direction of money; the offending values are
+// listed so they can be corrected and the migration re-run. An unrecognised division or status is
+// stored as the field's fallback code and listed on the migration's marker document and in the log.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.categories.migrate-on-startup", havingValue = "true")
+public class DictionaryEncodingMigration implements SmartInitializingSingleton {
+
+    static final String MIGRATION_ID = "dictionary-encoding";
+    static final String ROLLUP_REBUILD_ID = "dictionary-encoding-rollups";
+
+    // Stored in place of a label that matches no value: the most common division and status
+    private static final Division FALLBACK_DIVISION = Division.PERSONAL;
+    private static final TransactionStatus FALLBACK_STATUS = TransactionStatus.COMPLETED;
+
+    private final MongoTemplate mongoTemplate;
+    private final CategoryDictionary categoryDictionary;
+    private final RollupService rollupService;
+    private final ObjectProvider<MoneyMinorUnitsMigration> moneyMigration;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (mongoTemplate.getCollection(Constants.MIGRATIONS_COLLECTION)
+                .find(Filters.eq("_id", MIGRATION_ID)).first() != null) {
+            return;
+        }
+
+        Set<String> transactionCollections = new LinkedHashSet<>(List.of(
+                mongoTemplate.getCollectionName(Transaction.class),
+                TransactionStorage.STANDARD_COLLECTION,
+                TransactionArchiveService.ARCHIVE_COLLECTION));
+        // Rollups are rebuilt below by summing amounts, which must be minor units by then. Callbacks
+        // run in bean registration order, so the money migration (a no-op once done) is run here first.
+        moneyMigration.ifAvailable(MoneyMinorUnitsMigration::afterSingletonsInstantiated);
+        requireKnownTypes(transactionCollections);
+
+        List<Document> unrecognised = new ArrayList<>();
+        for (String collection : transactionCollections) {
+            encode(collection, "type", TransactionType.values(), null, unrecognised);
+            encode(collection, "division", Division.values(), FALLBACK_DIVISION, unrecognised);
+            encode(collection, "status", TransactionStatus.values(), FALLBACK_STATUS, unrecognised);
+            encodeCategories(collection);
+        }
+        rebuildRollups();
+
+        mongoTemplate.getCollection(Constants.MIGRATIONS_COLLECTION).insertOne(
+                new Document("_id", MIGRATION_ID)
+                        .append("completedAt", LocalDateTime.now())
+                        .append("unrecognised", unrecognised));
+        log.info("Stored type, category, division and status values are now codes");
+    }
+
+    // Every stored type string must name a type; otherwise nothing is rewritten and startup fails
+    private void requireKnownTypes(Set<String> collections) {
+        List<String> problems = new ArrayList<>();
+        for (String collection : collections) {
+            MongoCollection<Document> documents = mongoTemplate.getCollection(collection);
+            for (String label : unknownLabels(documents, "type", TransactionType.values())) {
+                long count = documents.countDocuments(Filters.eq("type", label));
+                problems.add(collection + ".type '" + label + "' (" + count + " documents)");
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Dictionary encoding stopped: unrecognised transaction types " + problems
+                    + ". Correct them to INCOME or EXPENSE and run the migration again; no values have been encoded yet.");
+        }
+    }
+
+    private static List<String> unknownLabels(MongoCollection<Document> documents, String field, CodedEnum[] values) {
+        List<String> unknown = new ArrayList<>();
+        for (String label : documents.distinct(field, Filters.type(field, BsonType.STRING), String.class)) {
+            if (!matchesAny(label, values)) {
+                unknown.add(label);
+            }
+        }
+        return unknown;
+    }
+
+    // Only string values match, so re-running after a partial failure converts just the remainder.
+    // Without a fallback, an unmatched value fails the update instead of being given a code.
+    private void encode(String collection, String field, CodedEnum[] values, CodedEnum fallback,
+                        List<Document> unrecognised) {
+        MongoCollection<Document> documents = mongoTemplate.getCollection(collection);
+        Bson unencoded = Filters.type(field, BsonType.STRING);
+        List<String> unknown = unknownLabels(documents, field, values);
+
+        List<Document> branches = new ArrayList<>();
+        for (CodedEnum value : values) {
+            branches.add(new Document("case", new Document("$eq", List.of(
+                    new Document("$toLower", "$" + field), value.getLabel().toLowerCase())))
+                    .append("then", value.getCode()));
+        }
+        Document cases = new Document("branches", branches);
+        if (fallback != null) {
+            cases.append("default", fallback.getCode());
+        }
+        Document code = new Document("$switch", cases);
+
+        long converted = documents.updateMany(unencoded,
+                List.of(new Document("$set", new Document(field, code)))).getModifiedCount();
+        if (converted > 0) {
+            log.info("Encoded {} {}.{} values", converted, collection, field);
+        }
+        if (!unknown.isEmpty()) {
+            log.warn("Unrecognised {}.{} values {} were stored as {}", collection, field, unknown, fallback.getLabel());
+            unrecognised.add(new Document("collection", collection)
+                    .append("field", field)
+                    .append("values", unknown)
+                    .append("storedAs", fallback.getLabel()));
+        }
+    }
+
+    private static boolean matchesAny(String label, CodedEnum[] values) {
+        for (CodedEnum value : values) {
+            if (value.getLabel().equalsIgnoreCase(label)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Rollups are not encoded in place: buckets that differ only in case ("food" and "Food") become
+    // the same bucket once encoded and would collide on the unique bucket index. Unencoded rollups are
+    // dropped and each affected user's rollups are rebuilt from the already encoded transactions.
+    // The users are noted before the drop, so a restart after a crash still rebuilds them.
+    private void rebuildRollups() {
+        MongoCollection<Document> rollups = mongoTemplate.getCollection(
+                mongoTemplate.getCollectionName(MonthlyRollup.class));
+        MongoCollection<Document> progress = mongoTemplate.getCollection(
+                Constants.MIGRATIONS_COLLECTION);
+        Bson unencoded = Filters.or(
+                Filters.type("type", BsonType.STRING),
+                Filters.type("division", BsonType.STRING),
+                Filters.type("category", BsonType.STRING));
+
+        List<String> affected = rollups.distinct("userId", unencoded, String.class).into(new ArrayList<>());
+        if (!affected.isEmpty()) {
+            progress.updateOne(Filters.eq("_id", ROLLUP_REBUILD_ID), Updates.addEachToSet("userIds", affected),
+                    new UpdateOptions().upsert(true));
+            rollups.deleteMany(unencoded);
+        }
+
+        Document pending = progress.find(Filters.eq("_id", ROLLUP_REBUILD_ID)).first();
+        if (pending == null) {
+            return;
+        }
+        List<String> userIds = pending.getList("userIds", String.class);
+        for (String userId : userIds) {
+            rollupService.rebuild(userId);
+        }
+        progress.deleteOne(Filters.eq("_id", ROLLUP_REBUILD_ID));
+        log.info("Rebuilt monthly rollups for {} users with unencoded rollups", userIds.size());
+    }
+
+    // One dictionary entry per distinct (user, name), then one update per entry
+    private void encodeCategories(String collection) {
+        MongoCollection<Document> documents = mongoTemplate.getCollection(collection);
+        List<Document> pairs = documents.aggregate(List.of(
+                Aggregates.match(Filters.type("category", BsonType.STRING)),
+                Aggregates.group(new Document("userId", "$userId").append("name", "$category"),
+                        Accumulators.sum("count", 1)))).into(new ArrayList<>());
+
+        long converted = 0;
+        for (Document pair : pairs) {
+            Document id = pair.get("_id", Document.class);
+            String userId = id.getString("userId");
+            String name = id.getString("name");
+            int code = categoryDictionary.encode(userId, name);
+            converted += documents.updateMany(
+                    Filters.and(Filters.eq("userId", userId), Filters.eq("category", name)),
+                    Updates.set("category", code)).getModifiedCount();
+        }
+        if (converted > 0) {
+            log.info("Encoded {} {}.category values across {} user categories", converted, collection, pairs.size());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.moneymanager.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+// Reads CURRENCY=rate lines from a properties resource (classpath: or file:)
+@RequiredArgsConstructor
+public class FileFxRateProvider implements FxRateProvider {
+
+    private final Resource resource;
+
+    @Override
+    public Map<String, BigDecimal> loadRates() throws Exception {
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        }
+
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (String currency : properties.stringPropertyNames()) {
+            BigDecimal rate = new BigDecimal(properties.getProperty(currency).trim());
+            if (rate.signum() <= 0) {
+                throw new IllegalArgumentException("FX rate must be positive for " + currency);
+            }
+            rates.put(currency.trim().toUpperCase(), rate);
+        }
+        return rates;
+    }
+}
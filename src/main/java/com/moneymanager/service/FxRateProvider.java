@@ -0,0 +1,11 @@
+package com.moneymanager.service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Source of FX rates, expressed as units of each currency per one unit of the base
+// currency. The file-based provider is the default; declare another bean to replace it.
+public interface FxRateProvider {
+
+    Map<String, BigDecimal> loadRates() throws Exception;
+}
@@ -0,0 +1,112 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TotalBalanceDTO;
+import com.moneymanager.utils.FxRates;
+import com.moneymanager.utils.Money;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FxRateService {
+
+    private final FxRateProvider fxRateProvider;
+    private final ReportCache reportCache;
+
+    private final AtomicReference<FxRates> snapshot = new AtomicReference<>();
+
+    @Value("${app.fx.base-currency:USD}")
+    private String baseCurrency;
+
+    @PostConstruct
+    public void init() {
+        refresh();
+        if (snapshot.get() == null) {
+            // Keep same-currency totals working until a rate table loads
+            snapshot.set(new FxRates(baseCurrency, Map.of(baseCurrency, BigDecimal.ONE), LocalDateTime.now()));
+        }
+    }
+
+    // A failed load keeps serving the previous snapshot
+    @Scheduled(fixedDelayString = "${app.fx.refresh-interval-ms:3600000}",
+            initialDelayString = "${app.fx.refresh-interval-ms:3600000}")
+    public void refresh() {
+        try {
+            Map<String, BigDecimal> rates = new LinkedHashMap<>(fxRateProvider.loadRates());
+            rates.putIfAbsent(baseCurrency, BigDecimal.ONE);
+
+            FxRates previous = snapshot.getAndSet(new FxRates(baseCurrency, rates, LocalDateTime.now()));
+            if (previous != null && !previous.getRates().equals(rates)) {
+                reportCache.evictAllTotalBalances();
+            }
+            log.info("Loaded {} FX rates against {}", rates.size(), baseCurrency);
+        } catch (Exception e) {
+            log.error("Failed to refresh FX rates, keeping previous snapshot", e);
+        }
+    }
+
+    public FxRates getRates() {
+        return snapshot.get();
+    }
+
+    public String resolveCurrency(String currency) {
+        return currency == null || currency.isBlank() ? baseCurrency : currency.trim().toUpperCase();
+    }
+
+    // Sums per-currency balances into the target currency using one consistent snapshot
+    // Balances are minor units; only the converted total is rounded, once, back to cents.
+    // A currency without a rate is left out of the total and listed instead of failing the whole sum.
+    public TotalBalanceDTO total(Map<String, Long> balancesByCurrency, String targetCurrency) {
+        FxRates rates = snapshot.get();
+        String target = resolveCurrency(targetCurrency);
+        if (!rates.supports(target)) {
+            log.warn("No exchange rate for preferred currency {}, totalling in {}", target, baseCurrency);
+            target = baseCurrency;
+        }
+
+        Map<String, Long> minorByCurrency = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : balancesByCurrency.entrySet()) {
+            minorByCurrency.merge(resolveCurrency(entry.getKey()), entry.getValue(), Long::sum);
+        }
+
+        Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        List<String> unconverted = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<String, Long> entry : minorByCurrency.entrySet()) {
+            BigDecimal amount = Money.decimal(entry.getValue());
+            balances.put(entry.getKey(), amount);
+            if (rates.supports(entry.getKey())) {
+                total = total.add(rates.convert(amount, entry.getKey(), target));
+            } else {
+                unconverted.add(entry.getKey());
+            }
+        }
+        if (!unconverted.isEmpty()) {
+            Collections.sort(unconverted);
+            log.warn("No exchange rate for {}, left out of the total", unconverted);
+        }
+
+        return TotalBalanceDTO.builder()
+                .totalBalance(total.setScale(Money.SCALE, RoundingMode.HALF_EVEN))
+                .currency(target)
+                .balancesByCurrency(balances)
+                .unconvertedCurrencies(unconverted)
+                .ratesAsOf(rates.getLoadedAt())
+                .build();
+    }
+}
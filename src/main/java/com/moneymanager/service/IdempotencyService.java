@@ -0,0 +1,211 @@
+package com.moneymanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moneymanager.dto.ApiResponse;
+import com.moneymanager.model.IdempotencyRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String STATUS_PENDING = "PENDING";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Cache<String, IdempotencyRecord> completed;
+
+    public IdempotencyService(MongoTemplate mongoTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${app.idempotency.lease-seconds:30}") long leaseSeconds,
+                              @Value("${app.idempotency.cache-size:10000}") long cacheSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        // Front cache for recent retries; Mongo stays the source of truth across nodes
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(Math.min(ttl.toMinutes(), 10)))
+                .build();
+    }
+
+    // A PENDING claim is only held for the lease. If the node handling it dies, a retry after the
+    // lease takes the claim over and runs the request again, so the lease must outlast the slowest
+    // request. The request body is hashed so the same key cannot be reused for a different payload.
+    public <T> ResponseEntity<ApiResponse<T>> execute(String userId, String key, String endpoint, Object request,
+                                                      Class<T> dataType,
+                                                      Supplier<ResponseEntity<ApiResponse<T>>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        String id = userId + ":" + key;
+        String requestHash = hash(request);
+        IdempotencyRecord cached = completed.getIfPresent(id);
+        if (cached != null) {
+            return replay(cached, endpoint, requestHash, dataType);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .id(id)
+                .userId(userId)
+                .endpoint(endpoint)
+                .requestHash(requestHash)
+                .status(STATUS_PENDING)
+                .lockedUntil(now.plus(lease))
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+
+        try {
+            mongoTemplate.insert(record);
+        } catch (DuplicateKeyException e) {
+            IdempotencyRecord existing = mongoTemplate.findById(id, IdempotencyRecord.class);
+            if (existing == null) {
+                // Expired or released between the insert and the read
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Request with this idempotency key is being retried");
+            }
+            if (STATUS_COMPLETED.equals(existing.getStatus())) {
+                completed.put(id, existing);
+                return replay(existing, endpoint, requestHash, dataType);
+            }
+            checkSameRequest(existing, endpoint, requestHash);
+            if (!takeOver(existing, now)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Request with this idempotency key is still in progress");
+            }
+            log.warn("Taking over expired claim for idempotency key: {}", id);
+        }
+
+        ResponseEntity<ApiResponse<T>> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // Nothing was committed under this key, so let the client retry it
+            mongoTemplate.remove(new Query(Criteria.where("id").is(id)), IdempotencyRecord.class);
+            throw e;
+        }
+
+        // The write has committed from here on, so the client gets its response even if it cannot be
+        // stored. A body that does not serialize is stored without its data: a replay still answers
+        // with the original status and message instead of running the request again.
+        record.setStatus(STATUS_COMPLETED);
+        record.setResponseStatus(response.getStatusCode().value());
+        record.setResponseBody(serialize(id, response.getBody()));
+        try {
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(id)),
+                    new Update()
+                            .set("status", record.getStatus())
+                            .set("responseStatus", record.getResponseStatus())
+                            .set("responseBody", record.getResponseBody())
+                            .unset("lockedUntil"),
+                    IdempotencyRecord.class);
+            completed.put(id, record);
+        } catch (DataAccessException e) {
+            log.error("Could not store response for idempotency key: {}", id, e);
+        }
+
+        return response;
+    }
+
+    // Claims a PENDING record whose lease has run out; only one retry can win it
+    private boolean takeOver(IdempotencyRecord existing, LocalDateTime now) {
+        if (existing.getLockedUntil() != null && existing.getLockedUntil().isAfter(now)) {
+            return false;
+        }
+        Criteria expired = existing.getLockedUntil() == null
+                ? Criteria.where("lockedUntil").is(null)
+                : Criteria.where("lockedUntil").is(existing.getLockedUntil());
+        IdempotencyRecord claimed = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(existing.getId()).and("status").is(STATUS_PENDING))
+                        .addCriteria(expired),
+                new Update().set("lockedUntil", now.plus(lease)),
+                FindAndModifyOptions.options().returnNew(true),
+                IdempotencyRecord.class);
+        return claimed != null;
+    }
+
+    private String serialize(String id, ApiResponse<?> body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize response for idempotency key: {}", id, e);
+            try {
+                return objectMapper.writeValueAsString(body == null ? null
+                        : new ApiResponse<>(body.success(), body.message(), null, null, null, null));
+            } catch (JsonProcessingException again) {
+                return "null";
+            }
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not hash idempotent request", e);
+        }
+    }
+
+    private void checkSameRequest(IdempotencyRecord record, String endpoint, String requestHash) {
+        if (!endpoint.equals(record.getEndpoint())) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency key was already used for " + record.getEndpoint());
+        }
+        // Records written before request hashing have no hash and match any body
+        if (record.getRequestHash() != null && !Objects.equals(record.getRequestHash(), requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency key was already used with a different request body");
+        }
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> replay(IdempotencyRecord record, String endpoint, String requestHash,
+                                                      Class<T> dataType) {
+        checkSameRequest(record, endpoint, requestHash);
+        log.info("Replaying stored response for idempotency key: {}", record.getId());
+
+        JavaType bodyType = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, dataType);
+        try {
+            return ResponseEntity.status(record.getResponseStatus())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(objectMapper.readValue(record.getResponseBody(), bodyType));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored idempotent response", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.Account;
+import com.moneymanager.utils.Constants;
+import com.mongodb.client.model.Filters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Seeds the account ledger once for accounts created before it existed, then checkpoints every
+// account at the start of each month so balance lookups never sum more than a month of postings
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerMaintenanceJob implements ApplicationRunner {
+
+    static final String MIGRATION_ID = "account-ledger";
+
+    private final LedgerService ledgerService;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.ledger.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!backfillOnStartup || mongoTemplate.getCollection(Constants.MIGRATIONS_COLLECTION)
+                .find(Filters.eq("_id", MIGRATION_ID)).first() != null) {
+            return;
+        }
+
+        int seeded = 0;
+        for (Account account : mongoTemplate.find(new Query(), Account.class)) {
+            if (ledgerService.backfill(account)) {
+                seeded++;
+            }
+        }
+        mongoTemplate.getCollection(Constants.MIGRATIONS_COLLECTION).insertOne(
+                new Document("_id", MIGRATION_ID).append("completedAt", LocalDateTime.now()));
+        log.info("Seeded the ledger of {} existing accounts from their transfers", seeded);
+        checkpoint();
+    }
+
+    @Scheduled(cron = "${app.ledger.checkpoint-cron:0 15 3 * * *}")
+    public void checkpoint() {
+        LocalDateTime asOf = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+        int created = ledgerService.createCheckpoints(asOf);
+        log.info("Created {} balance checkpoints as of {}", created, asOf);
+    }
+}
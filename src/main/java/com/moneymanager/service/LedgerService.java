@@ -0,0 +1,307 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.BalancePointDTO;
+import com.moneymanager.exception.InvalidOperationException;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.AccountPosting;
+import com.moneymanager.model.BalanceCheckpoint;
+import com.moneymanager.model.PostingSource;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionType;
+import com.moneymanager.model.Transfer;
+import com.moneymanager.repository.AccountRepository;
+import com.moneymanager.utils.BalanceInterval;
+import com.moneymanager.utils.Money;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Per-account ledger of balance postings with periodic checkpoints. A balance as of any instant is the
+// nearest earlier checkpoint plus the postings dated after it, so no lookup replays the whole history.
+// Postings are single inserts and checkpoints are never updated: a checkpoint records the creation time
+// its sum covers, and a lookup also adds the backdated postings created after that.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerService {
+
+    private static final int MAX_HISTORY_POINTS = 1000;
+
+    // A checkpoint only covers postings created this long before it is taken, so a posting stamped
+    // just before but inserted just after (or on a node with a slower clock) is still found as late
+    private static final Duration CHECKPOINT_LAG = Duration.ofMinutes(5);
+
+    private final MongoTemplate mongoTemplate;
+    private final AccountRepository accountRepository;
+
+    // Appends one posting. A posting dated exactly at a checkpoint belongs to the period after it.
+    public void post(String userId, String accountId, long amount, LocalDateTime postedAt,
+                     PostingSource source, String sourceId) {
+        if (amount == 0) {
+            return;
+        }
+        mongoTemplate.insert(AccountPosting.builder()
+                .userId(userId)
+                .accountId(accountId)
+                .amount(amount)
+                .postedAt(postedAt)
+                .source(source)
+                .sourceId(sourceId)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    // Whether one leg of a transfer or other dated source was already posted; used by crash recovery
+    public boolean hasPosting(String accountId, PostingSource source, String sourceId, LocalDateTime postedAt) {
+        return mongoTemplate.exists(new Query(Criteria.where("accountId").is(accountId)
+                .and("postedAt").is(postedAt)
+                .and("source").is(source)
+                .and("sourceId").is(sourceId)), AccountPosting.class);
+    }
+
+    // Transactions only post when they name an account, and that account must be the user's own
+    public void requireAccount(String userId, String accountId) {
+        if (accountId != null && !accountRepository.existsByIdAndUserId(accountId, userId)) {
+            throw new InvalidOperationException("Account not found: " + accountId);
+        }
+    }
+
+    public void postTransaction(Transaction transaction) {
+        applyTransaction(transaction, 1);
+    }
+
+    public void reverseTransaction(Transaction transaction) {
+        applyTransaction(transaction, -1);
+    }
+
+    // Import path: one balance update per account and one bulk insert of postings
+    public void postTransactions(String userId, List<Transaction> transactions) {
+        Map<String, long[]> deltas = new HashMap<>();
+        List<AccountPosting> postings = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Transaction transaction : transactions) {
+            if (transaction.getAccountId() == null || transaction.getTransactionDate() == null) {
+                continue;
+            }
+            long amount = signedAmount(transaction);
+            deltas.computeIfAbsent(transaction.getAccountId(), k -> new long[1])[0] += amount;
+            postings.add(AccountPosting.builder()
+                    .userId(userId)
+                    .accountId(transaction.getAccountId())
+                    .amount(amount)
+                    .postedAt(transaction.getTransactionDate())
+                    .source(PostingSource.TRANSACTION)
+                    .sourceId(transaction.getId())
+                    .createdAt(now)
+                    .build());
+        }
+        if (postings.isEmpty()) {
+            return;
+        }
+
+        BulkOperations accounts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Account.class);
+        deltas.forEach((accountId, delta) -> accounts.updateOne(
+                new Query(Criteria.where("id").is(accountId).and("userId").is(userId)),
+                new Update().inc("balance", delta[0]).set("updatedAt", now)));
+        accounts.execute();
+
+        mongoTemplate.insertAll(postings);
+    }
+
+    private void applyTransaction(Transaction transaction, int sign) {
+        if (transaction.getAccountId() == null || transaction.getTransactionDate() == null) {
+            return;
+        }
+        long amount = sign * signedAmount(transaction);
+        UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(transaction.getAccountId()).and("userId").is(transaction.getUserId())),
+                new Update().inc("balance", amount).set("updatedAt", LocalDateTime.now()),
+                Account.class);
+        if (result.getMatchedCount() == 0) {
+            log.warn("Account {} of transaction {} no longer exists, not posted",
+                    transaction.getAccountId(), transaction.getId());
+            return;
+        }
+        post(transaction.getUserId(), transaction.getAccountId(), amount, transaction.getTransactionDate(),
+                PostingSource.TRANSACTION, transaction.getId());
+    }
+
+    static long signedAmount(Transaction transaction) {
+        return transaction.getType() == TransactionType.EXPENSE ? -transaction.getAmount() : transaction.getAmount();
+    }
+
+    // Balance from every posting dated strictly before the instant
+    public long balanceAsOf(String accountId, LocalDateTime at) {
+        return balanceAsOf(accountId, at, null);
+    }
+
+    // The nearest checkpoint at or before the instant, the postings dated from it to the instant, and the
+    // postings dated before it that were created after it was taken. createdBy leaves out postings
+    // created later, for taking a checkpoint; null counts them all.
+    private long balanceAsOf(String accountId, LocalDateTime at, LocalDateTime createdBy) {
+        BalanceCheckpoint checkpoint = mongoTemplate.findOne(
+                new Query(Criteria.where("accountId").is(accountId).and("asOf").lte(at))
+                        .with(Sort.by(Sort.Direction.DESC, "asOf"))
+                        .limit(1),
+                BalanceCheckpoint.class);
+        if (checkpoint == null) {
+            return sumPostings(postings(accountId, null, createdBy).and("postedAt").lt(at));
+        }
+        return checkpoint.getBalance()
+                + sumPostings(postings(accountId, null, createdBy).and("postedAt").gte(checkpoint.getAsOf()).lt(at))
+                + sumPostings(postings(accountId, checkpoint.getCoveredUntil(), createdBy)
+                        .and("postedAt").lt(checkpoint.getAsOf()));
+    }
+
+    private static Criteria postings(String accountId, LocalDateTime createdAfter, LocalDateTime createdBy) {
+        Criteria criteria = Criteria.where("accountId").is(accountId);
+        if (createdAfter != null || createdBy != null) {
+            Criteria createdAt = criteria.and("createdAt");
+            if (createdAfter != null) {
+                createdAt.gt(createdAfter);
+            }
+            if (createdBy != null) {
+                createdAt.lte(createdBy);
+            }
+        }
+        return criteria;
+    }
+
+    // One point per interval boundary from start to end inclusive: a single balance lookup for the
+    // start, then one ordered pass over the postings in between
+    public List<BalancePointDTO> balanceHistory(String accountId, LocalDateTime start, LocalDateTime end,
+                                                BalanceInterval interval) {
+        List<LocalDateTime> boundaries = new ArrayList<>();
+        for (LocalDateTime date = start; !date.isAfter(end); date = interval.next(date)) {
+            if (boundaries.size() == MAX_HISTORY_POINTS) {
+                throw new InvalidOperationException("Balance history is limited to " + MAX_HISTORY_POINTS
+                        + " points; use a longer interval or a shorter range");
+            }
+            boundaries.add(date);
+        }
+
+        long balance = balanceAsOf(accountId, start);
+        Query query = new Query(Criteria.where("accountId").is(accountId).and("postedAt").gte(start).lt(end))
+                .with(Sort.by(Sort.Direction.ASC, "postedAt"));
+        query.fields().include("amount", "postedAt");
+
+        List<BalancePointDTO> points = new ArrayList<>(boundaries.size());
+        try (Stream<AccountPosting> postings = mongoTemplate.stream(query, AccountPosting.class)) {
+            Iterator<AccountPosting> iterator = postings.iterator();
+            AccountPosting pending = iterator.hasNext() ? iterator.next() : null;
+            for (LocalDateTime boundary : boundaries) {
+                while (pending != null && pending.getPostedAt().isBefore(boundary)) {
+                    balance += pending.getAmount();
+                    pending = iterator.hasNext() ? iterator.next() : null;
+                }
+                points.add(new BalancePointDTO(boundary, Money.decimal(balance)));
+            }
+        }
+        return points;
+    }
+
+    // Checkpoints every account at asOf unless it already has one there. Returns the number created.
+    public int createCheckpoints(LocalDateTime asOf) {
+        Query accounts = new Query();
+        accounts.fields().include("userId");
+        LocalDateTime coveredUntil = LocalDateTime.now().minus(CHECKPOINT_LAG);
+
+        int created = 0;
+        for (Account account : mongoTemplate.find(accounts, Account.class)) {
+            if (mongoTemplate.exists(new Query(Criteria.where("accountId").is(account.getId()).and("asOf").is(asOf)),
+                    BalanceCheckpoint.class)) {
+                continue;
+            }
+            try {
+                mongoTemplate.insert(BalanceCheckpoint.builder()
+                        .userId(account.getUserId())
+                        .accountId(account.getId())
+                        .asOf(asOf)
+                        .balance(balanceAsOf(account.getId(), asOf, coveredUntil))
+                        .coveredUntil(coveredUntil)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+                created++;
+            } catch (DuplicateKeyException e) {
+                // Another node checkpointed this account first
+            }
+        }
+        return created;
+    }
+
+    // Seeds the ledger of an account that predates it from its transfers, which are the only history that
+    // moved stored balances before postings existed. Whatever else changed the balance (manual edits)
+    // is folded into the opening posting. Returns false if the account already has one.
+    public boolean backfill(Account account) {
+        if (mongoTemplate.exists(new Query(Criteria.where("accountId").is(account.getId())
+                .and("source").is(PostingSource.OPENING)), AccountPosting.class)) {
+            return false;
+        }
+
+        Query transfers = new Query(Criteria.where("userId").is(account.getUserId()).and("status").is("COMPLETED").orOperator(
+                Criteria.where("fromAccountId").is(account.getId()),
+                Criteria.where("toAccountId").is(account.getId())));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime opened = account.getCreatedAt() != null ? account.getCreatedAt() : now;
+        long net = 0;
+        List<AccountPosting> postings = new ArrayList<>();
+        for (Transfer transfer : mongoTemplate.find(transfers, Transfer.class)) {
+            long amount = account.getId().equals(transfer.getFromAccountId()) ? -transfer.getAmount() : transfer.getAmount();
+            LocalDateTime postedAt = transfer.getTransferDate() != null ? transfer.getTransferDate() : transfer.getCreatedAt();
+            if (postedAt == null) {
+                postedAt = opened;
+            }
+            if (postedAt.isBefore(opened)) {
+                opened = postedAt;
+            }
+            net += amount;
+            postings.add(AccountPosting.builder()
+                    .userId(account.getUserId())
+                    .accountId(account.getId())
+                    .amount(amount)
+                    .postedAt(postedAt)
+                    .source(PostingSource.TRANSFER)
+                    .sourceId(transfer.getId())
+                    .createdAt(now)
+                    .build());
+        }
+        postings.add(AccountPosting.builder()
+                .userId(account.getUserId())
+                .accountId(account.getId())
+                .amount(account.getBalance() - net)
+                .postedAt(opened)
+                .source(PostingSource.OPENING)
+                .sourceId(account.getId())
+                .createdAt(now)
+                .build());
+        mongoTemplate.insertAll(postings);
+        return true;
+    }
+
+    private long sumPostings(Criteria criteria) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group().sum("amount").as("total"));
+        Document row = mongoTemplate.aggregate(aggregation, AccountPosting.class, Document.class).getUniqueMappedResult();
+        return row == null || row.get("total") == null ? 0 : ((Number) row.get("total")).longValue();
+    }
+}
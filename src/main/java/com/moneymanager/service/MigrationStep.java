@@ -0,0 +1,30 @@
+package com.moneymanager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// End of the migrate profile's one-off run: the migrations it enables have already run while the
+// context started, so the process exits instead of staying up. A failed migration fails startup first.
+@Component
+@Profile("migrate")
+@RequiredArgsConstructor
+@Slf4j
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class MigrationStep implements ApplicationRunner {
+
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Data migrations finished, exiting");
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,75 @@
+package com.moneymanager.service;
+
+import com.moneymanager.config.TransactionStorage;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.MonthlyRollup;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.Transfer;
+import com.moneymanager.utils.Constants;
+import com.moneymanager.utils.Money;
+import com.mongodb.client.model.Filters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Rewrites amounts stored as decimal doubles into minor-unit longs. Runs once, as a deploy step (the
+// migrate profile), because the long fields would otherwise truncate unconverted values on read. Each field is
+// rounded to the nearest cent, which also drops drift accumulated by earlier double arithmetic.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.money.migrate-on-startup", havingValue = "true")
+public class MoneyMinorUnitsMigration implements SmartInitializingSingleton {
+
+    static final String MIGRATION_ID = "money-minor-units";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (mongoTemplate.getCollection(Constants.MIGRATIONS_COLLECTION)
+                .find(Filters.eq("_id", MIGRATION_ID)).first() != null) {
+            return;
+        }
+
+        Set<String> transactionCollections = new LinkedHashSet<>(List.of(
+                mongoTemplate.getCollectionName(Transaction.class),
+                TransactionStorage.STANDARD_COLLECTION,
+                TransactionArchiveService.ARCHIVE_COLLECTION));
+        for (String collection : transactionCollections) {
+            convert(collection, "amount");
+        }
+        convert(mongoTemplate.getCollectionName(Transfer.class), "amount");
+        convert(mongoTemplate.getCollectionName(Account.class), "balance");
+        convert(mongoTemplate.getCollectionName(Account.class), "initialBalance");
+        convert(mongoTemplate.getCollectionName(MonthlyRollup.class), "total");
+
+        mongoTemplate.getCollection(Constants.MIGRATIONS_COLLECTION).insertOne(
+                new Document("_id", MIGRATION_ID).append("completedAt", LocalDateTime.now()));
+        log.info("Stored amounts are now minor units");
+    }
+
+    // Only double values match, so re-running after a partial failure converts just the remainder.
+    // Going through Decimal128 rounds the double's 15 significant digits, not its binary expansion.
+    private void convert(String collection, String field) {
+        Document cents = new Document("$multiply", List.of(new Document("$toDecimal", "$" + field),
+                (long) Math.pow(10, Money.SCALE)));
+        Document minorUnits = new Document("$toLong", new Document("$round", List.of(cents, 0)));
+
+        long converted = mongoTemplate.getCollection(collection).updateMany(Filters.type(field, BsonType.DOUBLE),
+                List.of(new Document("$set", new Document(field, minorUnits)))).getModifiedCount();
+        if (converted > 0) {
+            log.info("Converted {} {}.{} values to minor units", converted, collection, field);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.moneymanager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+// Business write counters, tagged by operation so a single PromQL rate() covers all of them
+@Component
+public class OperationMetrics {
+
+    private final Counter transactionsCreated;
+    private final Counter transactionsUpdated;
+    private final Counter transactionsDeleted;
+    private final Counter transactionsImported;
+    private final Counter transactionsArchived;
+    private final Counter transactionsRestored;
+    private final Counter transfersCreated;
+    private final Counter transfersRejected;
+
+    public OperationMetrics(MeterRegistry registry) {
+        this.transactionsCreated = counter(registry, "moneymanager.transactions", "created");
+        this.transactionsUpdated = counter(registry, "moneymanager.transactions", "updated");
+        this.transactionsDeleted = counter(registry, "moneymanager.transactions", "deleted");
+        this.transactionsImported = counter(registry, "moneymanager.transactions", "imported");
+        this.transactionsArchived = counter(registry, "moneymanager.transactions", "archived");
+        this.transactionsRestored = counter(registry, "moneymanager.transactions", "restored");
+        this.transfersCreated = counter(registry, "moneymanager.transfers", "created");
+        this.transfersRejected = counter(registry, "moneymanager.transfers", "rejected");
+    }
+
+    public void transactionCreated() {
+        transactionsCreated.increment();
+    }
+
+    public void transactionUpdated() {
+        transactionsUpdated.increment();
+    }
+
+    public void transactionDeleted() {
+        transactionsDeleted.increment();
+    }
+
+    public void transactionsImported(int count) {
+        transactionsImported.increment(count);
+    }
+
+    public void transactionsArchived(int count) {
+        transactionsArchived.increment(count);
+    }
+
+    public void transactionRestored() {
+        transactionsRestored.increment();
+    }
+
+    public void transferCreated() {
+        transfersCreated.increment();
+    }
+
+    public void transferRejected() {
+        transfersRejected.increment();
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String operation) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
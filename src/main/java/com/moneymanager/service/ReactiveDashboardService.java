@@ -0,0 +1,129 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TotalBalanceDTO;
+import com.moneymanager.mapper.TransactionMapper;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.User;
+import com.moneymanager.repository.reactive.ReactiveAccountRepository;
+import com.moneymanager.repository.reactive.ReactiveMonthlyRollupRepository;
+import com.moneymanager.utils.ReportDetail;
+import com.moneymanager.utils.ReportPeriod;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+// Reactive variant of DashboardService. Report shapes come from the same static helpers,
+// so the JSON matches /dashboard exactly; totals and any requested detail are fetched concurrently.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDashboardService {
+
+    private final ReactiveMonthlyRollupRepository reactiveMonthlyRollupRepository;
+    private final ReactiveAccountRepository reactiveAccountRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final FxRateService fxRateService;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionMapper transactionMapper;
+
+    public Mono<Map<String, Object>> getMonthlyReport(String userId, int month, int year) {
+        log.info("Generating monthly report for user: {} for {}-{}", userId, month, year);
+
+        ReportPeriod period = ReportPeriod.month(year, month);
+
+        return reactiveMonthlyRollupRepository.findByUserIdAndYearAndMonth(userId, year, month)
+                .collectList()
+                .map(rollups -> {
+                    Map<String, Object> report = new HashMap<>();
+                    report.put("month", month);
+                    report.put("year", year);
+                    DashboardService.putPeriod(report, period);
+                    DashboardService.putRollupTotals(report, rollups);
+                    return report;
+                });
+    }
+
+    public Mono<Map<String, Object>> getWeeklyReport(String userId, int week, int year) {
+        log.info("Generating weekly report for user: {} for week {} of {}", userId, week, year);
+
+        return Mono.fromCallable(() -> ReportPeriod.isoWeek(year, week))
+                .flatMap(period -> reactiveMongoTemplate
+                        .aggregate(DashboardService.typeTotalsAggregation(userId, period), Transaction.class, Document.class)
+                        .collectList()
+                        .map(rows -> {
+                            Map<String, Object> report = new HashMap<>();
+                            report.put("week", week);
+                            report.put("year", year);
+                            DashboardService.putPeriod(report, period);
+                            DashboardService.putTypeTotals(report, rows);
+                            return report;
+                        }));
+    }
+
+    public Mono<Map<String, Object>> getYearlyReport(String userId, int year) {
+        log.info("Generating yearly report for user: {} for year {}", userId, year);
+
+        ReportPeriod period = ReportPeriod.year(year);
+
+        return reactiveMonthlyRollupRepository.findByUserIdAndYear(userId, year)
+                .collectList()
+                .map(rollups -> {
+                    Map<String, Object> report = new HashMap<>();
+                    report.put("year", year);
+                    DashboardService.putPeriod(report, period);
+                    DashboardService.putRollupTotals(report, rollups);
+                    return report;
+                });
+    }
+
+    public Mono<Map<String, Object>> withDetail(Mono<Map<String, Object>> report, String userId, ReportPeriod period,
+                                                ReportDetail detail, String cursor, Integer limit) {
+        if (detail == ReportDetail.NONE) {
+            return report;
+        }
+        Mono<List<Transaction>> rows = Mono
+                .fromCallable(() -> DashboardService.detailQuery(userId, period, detail, cursor, limit))
+                .flatMap(query -> reactiveMongoTemplate.find(query, Transaction.class).collectList());
+        return Mono.zip(report, rows)
+                .flatMap(tuple -> resolveCategories(() -> DashboardService.putDetail(tuple.getT1(), detail,
+                        DashboardService.summaries(transactionMapper, tuple.getT2(), categoryDictionary.forUser(userId,
+                                TransactionService.categoryCodes(tuple.getT2()))), limit)));
+    }
+
+    public Mono<Map<String, Object>> getCategoryReport(String userId) {
+        log.info("Generating category report for user: {}", userId);
+
+        return reactiveMonthlyRollupRepository.findByUserId(userId)
+                .collectList()
+                .flatMap(rollups -> resolveCategories(() -> DashboardService.categoryReport(rollups,
+                        categoryDictionary.forUser(userId, DashboardService.categoryCodes(rollups)))));
+    }
+
+    // The category dictionary reads through the blocking template on a miss, so it runs off the event loop
+    private <T> Mono<T> resolveCategories(Callable<T> task) {
+        return Mono.fromCallable(task).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<TotalBalanceDTO> getTotalBalance(String userId) {
+        log.info("Calculating total balance for user: {}", userId);
+
+        Mono<Map<String, Long>> balances = reactiveAccountRepository.findByUserIdAndIsActiveTrue(userId)
+                .collect(HashMap::new, (map, account) -> map.merge(
+                        fxRateService.resolveCurrency(account.getCurrency()), account.getBalance(), Long::sum));
+        Mono<String> preferredCurrency = reactiveMongoTemplate.findById(userId, User.class)
+                .mapNotNull(User::getPreferredCurrency)
+                .defaultIfEmpty("");
+
+        return Mono.zip(balances, preferredCurrency)
+                .map(tuple -> fxRateService.total(tuple.getT1(), tuple.getT2()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.CursorPage;
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.mapper.TransactionMapper;
+import com.moneymanager.model.Division;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionType;
+import com.moneymanager.repository.reactive.ReactiveTransactionRepository;
+import com.moneymanager.utils.CategoryTable;
+import com.moneymanager.utils.PageCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Non-blocking counterparts of the TransactionService read paths. Queries and paging
+// rules are shared with the blocking service so both stacks return identical pages.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveTransactionService {
+
+    private final ReactiveTransactionRepository reactiveTransactionRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final TransactionMapper transactionMapper;
+    private final CategoryDictionary categoryDictionary;
+
+    public Mono<TransactionDTO> getTransactionById(String userId, String transactionId) {
+        // User-scoped like TransactionService, so the lookup does not depend on an _id index
+        return reactiveMongoTemplate.findOne(TransactionService.ownedBy(userId, transactionId), Transaction.class)
+                .flatMap(transaction -> categories(userId, List.of(transaction.getCategory()))
+                        .map(categories -> transactionMapper.toDTO(transaction, categories)))
+                .switchIfEmpty(Mono.defer(() -> reactiveTransactionRepository.existsById(transactionId)
+                        .flatMap(exists -> Mono.error(new RuntimeException(exists
+                                ? "Unauthorized access to transaction"
+                                : "Transaction not found")))));
+    }
+
+    public Mono<CursorPage<TransactionDTO>> getAllTransactions(String userId, String cursor, Integer limit) {
+        log.info("Fetching all transactions for user: {}", userId);
+
+        return findPage(userId,
+                TransactionService.activeTransactions(userId).and("transactionDate").lte(LocalDateTime.now()),
+                cursor, limit);
+    }
+
+    public Mono<CursorPage<TransactionDTO>> getTransactionsByType(String userId, String type, String cursor, Integer limit) {
+        log.info("Fetching {} transactions for user: {}", type, userId);
+
+        return findPage(userId,
+                TransactionService.activeTransactions(userId).and("type").is(TransactionType.fromLabel(type)),
+                cursor, limit);
+    }
+
+    public Mono<CursorPage<TransactionDTO>> getTransactionsByCategory(String userId, String category, String cursor, Integer limit) {
+        log.info("Fetching transactions by category: {} for user: {}", category, userId);
+
+        // An empty lookup means the user has never used the name, so the page is empty
+        return Mono.fromCallable(() -> categoryDictionary.find(userId, category))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(code -> findPage(userId,
+                        TransactionService.activeTransactions(userId).and("category").is(code), cursor, limit))
+                .defaultIfEmpty(new CursorPage<>(List.of(), null));
+    }
+
+    public Mono<CursorPage<TransactionDTO>> getTransactionsByDivision(String userId, String division, String cursor, Integer limit) {
+        log.info("Fetching transactions by division: {} for user: {}", division, userId);
+
+        return findPage(userId,
+                TransactionService.activeTransactions(userId).and("division").is(Division.fromLabel(division)),
+                cursor, limit);
+    }
+
+    public Mono<CursorPage<TransactionDTO>> getTransactionsByDateRange(String userId, LocalDateTime startDate,
+                                                                       LocalDateTime endDate, String cursor, Integer limit) {
+        log.info("Fetching transactions between {} and {} for user: {}", startDate, endDate, userId);
+
+        return findPage(userId,
+                TransactionService.activeTransactions(userId).and("transactionDate").gte(startDate).lte(endDate),
+                cursor, limit);
+    }
+
+    // Unpaged, newest first. Rows are emitted as the driver produces them and demand from
+    // the client throttles the cursor, so a slow reader never buffers the whole history.
+    public Flux<TransactionDTO> streamTransactions(String userId) {
+        log.info("Streaming transactions for user: {}", userId);
+
+        Query query = new Query(TransactionService.activeTransactions(userId))
+                .with(Sort.by(Sort.Direction.DESC, "transactionDate", "id"));
+        // One category table for the stream, reloaded only when a row carries a code interned since
+        return categories(userId, List.of()).flatMapMany(initial -> {
+            AtomicReference<CategoryTable> table = new AtomicReference<>(initial);
+            return reactiveMongoTemplate.find(query, Transaction.class)
+                    .concatMap(transaction -> (table.get().contains(transaction.getCategory())
+                            ? Mono.just(table.get())
+                            : categories(userId, List.of(transaction.getCategory())).doOnNext(table::set))
+                            .map(categories -> transactionMapper.toDTO(transaction, categories)));
+        });
+    }
+
+    private Mono<CursorPage<TransactionDTO>> findPage(String userId, Criteria criteria, String cursor, Integer limit) {
+        int pageSize = PageCursor.resolveLimit(limit);
+        return Mono.fromCallable(() -> PageCursor.pageQuery(criteria, cursor, pageSize, "transactionDate"))
+                .flatMap(query -> reactiveMongoTemplate.find(query, Transaction.class).collectList())
+                .flatMap(transactions -> categories(userId, TransactionService.categoryCodes(transactions))
+                        .map(categories -> PageCursor.toPage(transactions, pageSize,
+                                Transaction::getTransactionDate, Transaction::getId,
+                                transaction -> transactionMapper.toDTO(transaction, categories))));
+    }
+
+    // The dictionary reads through the blocking template on a cache miss, so it runs off the event loop
+    private Mono<CategoryTable> categories(String userId, List<Integer> codes) {
+        return Mono.fromCallable(() -> categoryDictionary.forUser(userId, codes))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
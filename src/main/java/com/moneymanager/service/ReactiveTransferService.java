@@ -0,0 +1,42 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.CursorPage;
+import com.moneymanager.dto.TransferDTO;
+import com.moneymanager.mapper.TransferMapper;
+import com.moneymanager.model.Transfer;
+import com.moneymanager.repository.reactive.ReactiveTransferRepository;
+import com.moneymanager.utils.PageCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveTransferService {
+
+    private final ReactiveTransferRepository reactiveTransferRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final TransferMapper transferMapper;
+
+    public Mono<CursorPage<TransferDTO>> getTransfersByUser(String userId, String cursor, Integer limit) {
+        log.info("Fetching transfers for user: {}", userId);
+
+        int pageSize = PageCursor.resolveLimit(limit);
+        return Mono.fromCallable(() -> PageCursor.pageQuery(
+                        Criteria.where("userId").is(userId), cursor, pageSize, "transferDate"))
+                .flatMap(query -> reactiveMongoTemplate.find(query, Transfer.class).collectList())
+                .map(transfers -> PageCursor.toPage(transfers, pageSize,
+                        Transfer::getTransferDate, Transfer::getId, transferMapper::toDTO));
+    }
+
+    public Flux<TransferDTO> streamTransfers(String userId) {
+        log.info("Streaming transfers for user: {}", userId);
+
+        return reactiveTransferRepository.findByUserId(userId).map(transferMapper::toDTO);
+    }
+}
@@ -0,0 +1,121 @@
+package com.moneymanager.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.utils.Constants;
+import com.moneymanager.utils.ReportPeriod;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Evicts only the cached report entries a write can change. Keys are built here and
+// referenced from the @Cacheable expressions in DashboardService and AccountService.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportCache {
+
+    private static final String[] USER_CACHES = {
+            Constants.CACHE_MONTHLY_REPORT,
+            Constants.CACHE_WEEKLY_REPORT,
+            Constants.CACHE_YEARLY_REPORT,
+            Constants.CACHE_CATEGORY_REPORT,
+            Constants.CACHE_TOTAL_BALANCE
+    };
+
+    private final CacheManager cacheManager;
+
+    public static String monthlyKey(String userId, int year, int month) {
+        return userId + ":" + year + ":" + month;
+    }
+
+    public static String weeklyKey(String userId, int year, int week) {
+        return userId + ":" + year + ":w" + week;
+    }
+
+    public static String yearlyKey(String userId, int year) {
+        return userId + ":" + year;
+    }
+
+    public void evictTransaction(Transaction transaction) {
+        String userId = transaction.getUserId();
+        evict(Constants.CACHE_CATEGORY_REPORT, userId);
+        if (transaction.getAccountId() != null) {
+            // Transactions that name an account post to its balance
+            evict(Constants.CACHE_TOTAL_BALANCE, userId);
+        }
+
+        LocalDateTime date = transaction.getTransactionDate();
+        if (date == null) {
+            return;
+        }
+        evict(Constants.CACHE_MONTHLY_REPORT, monthlyKey(userId, date.getYear(), date.getMonthValue()));
+        evict(Constants.CACHE_YEARLY_REPORT, yearlyKey(userId, date.getYear()));
+
+        // Weekly reports are ISO weeks with half-open bounds, so each instant falls in exactly one
+        evict(Constants.CACHE_WEEKLY_REPORT,
+                weeklyKey(userId, ReportPeriod.isoWeekYear(date), ReportPeriod.isoWeek(date)));
+    }
+
+    public void evictTotalBalance(String userId) {
+        evict(Constants.CACHE_TOTAL_BALANCE, userId);
+    }
+
+    // Converted totals depend on the FX snapshot, so a rate change invalidates every user
+    public void evictAllTotalBalances() {
+        Cache cache = cacheManager.getCache(Constants.CACHE_TOTAL_BALANCE);
+        if (cache != null) {
+            cache.clear();
+            log.debug("Cleared {}", Constants.CACHE_TOTAL_BALANCE);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void evictUser(String userId) {
+        String prefix = userId + ":";
+        for (String cacheName : USER_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+            if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).asMap().keySet()
+                        .removeIf(key -> key.equals(userId) || key.toString().startsWith(prefix));
+            } else {
+                cache.clear();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                CacheStats cacheStats = nativeCache.stats();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("size", nativeCache.estimatedSize());
+                entry.put("hits", cacheStats.hitCount());
+                entry.put("misses", cacheStats.missCount());
+                entry.put("hitRate", cacheStats.hitRate());
+                entry.put("evictions", cacheStats.evictionCount());
+                stats.put(cacheName, entry);
+            }
+        }
+        return stats;
+    }
+
+    private void evict(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+            log.debug("Evicted {} from {}", key, cacheName);
+        }
+    }
+}
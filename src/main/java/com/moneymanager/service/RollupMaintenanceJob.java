@@ -0,0 +1,58 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.MonthlyRollup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RollupMaintenanceJob implements ApplicationRunner {
+
+    private final RollupService rollupService;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${app.rollup.auto-repair:true}")
+    private boolean autoRepair;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Backfill only when the rollup collection has never been populated
+        if (backfillOnStartup && mongoTemplate.estimatedCount(MonthlyRollup.class) == 0) {
+            log.info("Monthly rollups are empty, backfilling from transactions");
+            int users = rollupService.rebuildAll();
+            log.info("Backfilled monthly rollups for {} users", users);
+        }
+    }
+
+    @Scheduled(cron = "${app.rollup.consistency-check-cron:0 30 3 * * *}")
+    public void checkConsistency() {
+        log.info("Checking monthly rollups against raw transactions");
+
+        int inconsistentUsers = 0;
+        for (String userId : rollupService.findUserIds()) {
+            List<String> inconsistencies = rollupService.findInconsistencies(userId);
+            if (inconsistencies.isEmpty()) {
+                continue;
+            }
+            inconsistentUsers++;
+            log.warn("Monthly rollups for user: {} differ from transactions: {}", userId, inconsistencies);
+            if (autoRepair) {
+                rollupService.rebuild(userId);
+            }
+        }
+
+        log.info("Monthly rollup check finished, {} users inconsistent", inconsistentUsers);
+    }
+}
@@ -0,0 +1,284 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.Division;
+import com.moneymanager.model.MonthlyRollup;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionType;
+import com.moneymanager.repository.MonthlyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RollupService {
+
+    private static final int REBUILD_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final ReportCache reportCache;
+
+    public void add(Transaction transaction) {
+        apply(transaction, 1);
+    }
+
+    public void remove(Transaction transaction) {
+        apply(transaction, -1);
+    }
+
+    // Folds a batch into one upsert per bucket instead of one per transaction
+    public void addAll(List<Transaction> transactions) {
+        Map<String, MonthlyRollup> buckets = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getTransactionDate() == null) {
+                continue;
+            }
+            MonthlyRollup bucket = buckets.computeIfAbsent(key(transaction), k -> MonthlyRollup.builder()
+                    .userId(transaction.getUserId())
+                    .year(transaction.getTransactionDate().getYear())
+                    .month(transaction.getTransactionDate().getMonthValue())
+                    .type(transaction.getType())
+                    .category(transaction.getCategory())
+                    .division(transaction.getDivision())
+                    .build());
+            bucket.setTotal(bucket.getTotal() + transaction.getAmount());
+            bucket.setCount(bucket.getCount() + 1);
+        }
+        if (buckets.isEmpty()) {
+            return;
+        }
+
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MonthlyRollup.class);
+        for (MonthlyRollup bucket : buckets.values()) {
+            operations.upsert(bucketQuery(bucket.getUserId(), bucket.getYear(), bucket.getMonth(),
+                            bucket.getType(), bucket.getCategory(), bucket.getDivision()),
+                    new Update().inc("total", bucket.getTotal()).inc("count", bucket.getCount()).inc("version", 1));
+        }
+        operations.execute();
+    }
+
+    public List<MonthlyRollup> getRollups(String userId) {
+        return monthlyRollupRepository.findByUserId(userId);
+    }
+
+    public List<MonthlyRollup> getRollups(String userId, int year) {
+        return monthlyRollupRepository.findByUserIdAndYear(userId, year);
+    }
+
+    public List<MonthlyRollup> getRollups(String userId, int year, int month) {
+        return monthlyRollupRepository.findByUserIdAndYearAndMonth(userId, year, month);
+    }
+
+    // Rewrites only the buckets that differ from a fresh aggregation, each as a compare-and-set on its
+    // version. A bucket that a concurrent $inc touched since it was read is left alone and the pass is
+    // repeated, so a live write is never overwritten. The one remaining gap, a transaction saved before
+    // the aggregation whose $inc lands after the set, shows up at the next check. Returns buckets corrected.
+    public int rebuild(String userId) {
+        log.info("Rebuilding monthly rollups for user: {}", userId);
+
+        int corrected = 0;
+        int conflicts = 0;
+        for (int attempt = 0; attempt < REBUILD_ATTEMPTS; attempt++) {
+            Map<String, MonthlyRollup> stored = new HashMap<>();
+            for (MonthlyRollup rollup : monthlyRollupRepository.findByUserId(userId)) {
+                stored.put(key(rollup), rollup);
+            }
+
+            conflicts = 0;
+            for (MonthlyRollup expected : computeFromTransactions(userId)) {
+                MonthlyRollup current = stored.remove(key(expected));
+                if (current != null && current.getTotal() == expected.getTotal()
+                        && current.getCount() == expected.getCount()) {
+                    continue;
+                }
+                if (current == null ? insert(expected) : compareAndSet(current, expected)) {
+                    corrected++;
+                } else {
+                    conflicts++;
+                }
+            }
+            // Buckets none of whose transactions remain
+            for (MonthlyRollup current : stored.values()) {
+                if (current.getTotal() == 0 && current.getCount() == 0) {
+                    continue;
+                }
+                Query unchanged = new Query(Criteria.where("_id").is(current.getId()).andOperator(versionIs(current)));
+                if (mongoTemplate.remove(unchanged, MonthlyRollup.class).getDeletedCount() == 1) {
+                    corrected++;
+                } else {
+                    conflicts++;
+                }
+            }
+            if (conflicts == 0) {
+                break;
+            }
+        }
+
+        if (corrected > 0) {
+            reportCache.evictUser(userId);
+        }
+        if (conflicts > 0) {
+            log.warn("{} monthly rollups for user: {} kept changing during rebuild, left for the next check",
+                    conflicts, userId);
+        }
+        log.info("Rebuilt monthly rollups for user: {}, {} buckets corrected", userId, corrected);
+        return corrected;
+    }
+
+    public int rebuildAll() {
+        List<String> userIds = findUserIds();
+        for (String userId : userIds) {
+            rebuild(userId);
+        }
+        return userIds.size();
+    }
+
+    public List<String> findUserIds() {
+        return mongoTemplate.findDistinct(new Query(), "userId", Transaction.class, String.class);
+    }
+
+    // Compares stored rollups with a fresh aggregation over the raw transactions and
+    // returns a description of every bucket that differs
+    public List<String> findInconsistencies(String userId) {
+        Map<String, MonthlyRollup> expected = new HashMap<>();
+        for (MonthlyRollup rollup : computeFromTransactions(userId)) {
+            expected.put(key(rollup), rollup);
+        }
+
+        List<String> inconsistencies = new ArrayList<>();
+        for (MonthlyRollup stored : monthlyRollupRepository.findByUserId(userId)) {
+            MonthlyRollup actual = expected.remove(key(stored));
+            if (actual == null) {
+                if (stored.getCount() != 0) {
+                    inconsistencies.add(key(stored) + " has no transactions but count=" + stored.getCount());
+                }
+            } else if (actual.getCount() != stored.getCount() || actual.getTotal() != stored.getTotal()) {
+                inconsistencies.add(key(stored) + " stored total=" + stored.getTotal() + " count=" + stored.getCount()
+                        + " expected total=" + actual.getTotal() + " count=" + actual.getCount());
+            }
+        }
+        for (MonthlyRollup missing : expected.values()) {
+            inconsistencies.add(key(missing) + " missing, expected total=" + missing.getTotal()
+                    + " count=" + missing.getCount());
+        }
+        return inconsistencies;
+    }
+
+    private void apply(Transaction transaction, int sign) {
+        if (transaction.getTransactionDate() == null) {
+            return;
+        }
+
+        Query query = bucketQuery(transaction.getUserId(), transaction.getTransactionDate().getYear(),
+                transaction.getTransactionDate().getMonthValue(), transaction.getType(),
+                transaction.getCategory(), transaction.getDivision());
+        Update update = new Update()
+                .inc("total", sign * transaction.getAmount())
+                .inc("count", sign)
+                .inc("version", 1);
+
+        try {
+            mongoTemplate.upsert(query, update, MonthlyRollup.class);
+        } catch (DuplicateKeyException e) {
+            // Two upserts raced to create the same bucket; the loser retries as a plain update
+            mongoTemplate.upsert(query, update, MonthlyRollup.class);
+        }
+    }
+
+    // Fails if a concurrent write created the bucket after it was read as missing
+    private boolean insert(MonthlyRollup rollup) {
+        rollup.setVersion(1);
+        try {
+            mongoTemplate.insert(rollup);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private boolean compareAndSet(MonthlyRollup current, MonthlyRollup expected) {
+        Query unchanged = new Query(Criteria.where("_id").is(current.getId()).andOperator(versionIs(current)));
+        Update update = new Update()
+                .set("total", expected.getTotal())
+                .set("count", expected.getCount())
+                .inc("version", 1);
+        return mongoTemplate.updateFirst(unchanged, update, MonthlyRollup.class).getMatchedCount() == 1;
+    }
+
+    // Buckets written before versioning have no version field, which a null match also covers
+    private static Criteria versionIs(MonthlyRollup rollup) {
+        return rollup.getVersion() == 0
+                ? Criteria.where("version").in(0L, null)
+                : Criteria.where("version").is(rollup.getVersion());
+    }
+
+    private Query bucketQuery(String userId, int year, int month, TransactionType type, int category,
+                             Division division) {
+        return new Query(Criteria.where("userId").is(userId)
+                .and("year").is(year)
+                .and("month").is(month)
+                .and("type").is(type)
+                .and("category").is(category)
+                .and("division").is(division));
+    }
+
+    private List<MonthlyRollup> computeFromTransactions(String userId) {
+        // Bucket by the same calendar month the write path uses (JVM default zone)
+        DateOperators.Timezone timezone = DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId());
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId).and("isDeleted").is(false)),
+                Aggregation.project("type", "category", "division", "amount")
+                        .and(DateOperators.dateOf("transactionDate").withTimezone(timezone).year()).as("year")
+                        .and(DateOperators.dateOf("transactionDate").withTimezone(timezone).month()).as("month"),
+                Aggregation.group("year", "month", "type", "category", "division")
+                        .sum("amount").as("total")
+                        .count().as("count"));
+
+        List<MonthlyRollup> rollups = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Transaction.class, Document.class).getMappedResults()) {
+            Document id = row.get("_id", Document.class);
+            rollups.add(MonthlyRollup.builder()
+                    .userId(userId)
+                    .year(((Number) id.get("year")).intValue())
+                    .month(((Number) id.get("month")).intValue())
+                    .type(TransactionType.fromCode(((Number) id.get("type")).intValue()))
+                    .category(((Number) id.get("category")).intValue())
+                    .division(Division.fromCode(((Number) id.get("division")).intValue()))
+                    .total(row.get("total") == null ? 0 : ((Number) row.get("total")).longValue())
+                    .count(((Number) row.get("count")).longValue())
+                    .build());
+        }
+        return rollups;
+    }
+
+    private static String key(Transaction transaction) {
+        return String.join("/", String.valueOf(transaction.getTransactionDate().getYear()),
+                String.valueOf(transaction.getTransactionDate().getMonthValue()),
+                Objects.toString(transaction.getType()), Objects.toString(transaction.getCategory()),
+                Objects.toString(transaction.getDivision()));
+    }
+
+    private static String key(MonthlyRollup rollup) {
+        return String.join("/", String.valueOf(rollup.getYear()), String.valueOf(rollup.getMonth()),
+                Objects.toString(rollup.getType()), Objects.toString(rollup.getCategory()),
+                Objects.toString(rollup.getDivision()));
+    }
+}
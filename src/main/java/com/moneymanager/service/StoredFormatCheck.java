@@ -0,0 +1,86 @@
+package com.moneymanager.service;
+
+import com.moneymanager.config.TransactionStorage;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.MonthlyRollup;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.Transfer;
+import com.moneymanager.utils.Constants;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Serving nodes do not convert stored data themselves: the money and dictionary migrations run as a
+// deploy step (the migrate profile) once no old node is writing. A node whose migration is switched off
+// refuses to start on data that step has not converted, since long amounts would truncate doubles and
+// coded fields cannot read names. An empty database has nothing to convert and is marked done.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StoredFormatCheck implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.money.migrate-on-startup:false}")
+    private boolean migrateMoney;
+
+    @Value("${app.categories.migrate-on-startup:false}")
+    private boolean migrateCategories;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> pending = new ArrayList<>();
+        if (!migrateMoney) {
+            pending.add(MoneyMinorUnitsMigration.MIGRATION_ID);
+        }
+        if (!migrateCategories) {
+            pending.add(DictionaryEncodingMigration.MIGRATION_ID);
+        }
+        MongoCollection<Document> migrations = mongoTemplate.getCollection(Constants.MIGRATIONS_COLLECTION);
+        pending.removeIf(id -> migrations.find(Filters.eq("_id", id)).first() != null);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        if (!isEmpty()) {
+            throw new IllegalStateException("Stored data has not been migrated " + pending
+                    + ". Stop the nodes running the previous version, then run the migrate profile once"
+                    + " (see README, Data Migrations) before starting this version.");
+        }
+        for (String id : pending) {
+            migrations.insertOne(new Document("_id", id)
+                    .append("completedAt", LocalDateTime.now())
+                    .append("emptyDatabase", true));
+        }
+        log.info("Empty database, nothing to migrate for {}", pending);
+    }
+
+    // Estimated counts read collection metadata, so this stays cheap on large collections
+    private boolean isEmpty() {
+        Set<String> collections = new LinkedHashSet<>(List.of(
+                mongoTemplate.getCollectionName(Transaction.class),
+                TransactionStorage.STANDARD_COLLECTION,
+                TransactionArchiveService.ARCHIVE_COLLECTION,
+                mongoTemplate.getCollectionName(Transfer.class),
+                mongoTemplate.getCollectionName(Account.class),
+                mongoTemplate.getCollectionName(MonthlyRollup.class)));
+        for (String collection : collections) {
+            if (mongoTemplate.getCollection(collection).estimatedDocumentCount() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,122 @@
+package com.moneymanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.utils.TransactionColumns;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Optional in-memory column snapshots for recently active users (app.analytics.enabled). A snapshot is
+// loaded on the first ad-hoc report and then kept current by the transaction write paths; the cache is
+// bounded by the estimated bytes held, so the least recently used users are dropped first. Writes are
+// queued per user and merged into the columns in one pass by the next report, so a write costs O(1)
+// instead of a copy of every column.
+@Service
+@Slf4j
+public class TransactionAnalytics {
+
+    private static final String[] SNAPSHOT_FIELDS =
+            {"type", "amount", "category", "division", "transactionDate"};
+
+    // Queued writes are merged early past this, so a user who writes but never reads stays bounded
+    private static final int MAX_PENDING_WRITES = 1024;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Cache<String, Snapshot> snapshots;
+
+    public TransactionAnalytics(MongoTemplate mongoTemplate,
+                                @Value("${app.analytics.enabled:false}") boolean enabled,
+                                @Value("${app.analytics.max-bytes:268435456}") long maxBytes,
+                                @Value("${app.analytics.idle-minutes:30}") long idleMinutes) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String userId, Snapshot snapshot) ->
+                        (int) Math.min(Integer.MAX_VALUE, snapshot.columns.sizeInBytes()))
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TransactionColumns snapshot(String userId) {
+        Snapshot snapshot = snapshots.get(userId, this::load);
+        if (!snapshot.dirty) {
+            return snapshot.columns;
+        }
+        return snapshots.asMap().compute(userId,
+                (id, current) -> current == null ? load(id) : current.merged()).columns;
+    }
+
+    // Writes only touch snapshots that are already loaded. Both operations are keyed by id, so a write
+    // that lands while its user's snapshot is loading is applied once whether or not the load saw it.
+    public void add(Transaction transaction) {
+        if (enabled && !transaction.isDeleted()) {
+            queue(transaction.getUserId(), transaction.getId(), transaction);
+        }
+    }
+
+    public void remove(Transaction transaction) {
+        if (enabled) {
+            queue(transaction.getUserId(), transaction.getId(), null);
+        }
+    }
+
+    // Bulk writes drop the snapshot; the next report reloads it in one query
+    public void invalidate(String userId) {
+        if (enabled) {
+            snapshots.invalidate(userId);
+        }
+    }
+
+    // The pending map is only touched inside the cache's per-user compute, which serializes writers
+    // and the merge; dirty lets a report skip that lock when nothing is queued
+    private void queue(String userId, String id, Transaction transaction) {
+        snapshots.asMap().computeIfPresent(userId, (key, snapshot) -> {
+            snapshot.pending.put(id, transaction);
+            snapshot.dirty = true;
+            return snapshot.pending.size() >= MAX_PENDING_WRITES ? snapshot.merged() : snapshot;
+        });
+    }
+
+    private Snapshot load(String userId) {
+        Query query = new Query(TransactionService.activeTransactions(userId))
+                .with(Sort.by(Sort.Direction.ASC, "transactionDate", "id"));
+        query.fields().include(SNAPSHOT_FIELDS);
+        List<Transaction> transactions = mongoTemplate.find(query, Transaction.class);
+
+        TransactionColumns columns = TransactionColumns.of(transactions);
+        log.info("Loaded analytics snapshot of {} transactions ({} bytes) for user: {}",
+                columns.size(), columns.sizeInBytes(), userId);
+        return new Snapshot(columns);
+    }
+
+    private static final class Snapshot {
+
+        private final TransactionColumns columns;
+        private final Map<String, Transaction> pending = new HashMap<>(); // id -> row, null to remove
+        private volatile boolean dirty;
+
+        private Snapshot(TransactionColumns columns) {
+            this.columns = columns;
+        }
+
+        private Snapshot merged() {
+            return new Snapshot(columns.apply(pending));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.moneymanager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Off-peak sweep of soft-deleted transactions. Small batches with a pause between them, and a hard
+// stop after max-run-minutes, keep it from competing with request traffic; leftovers go next night.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionArchiveJob {
+
+    private final TransactionArchiveService transactionArchiveService;
+
+    @Value("${app.archive.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archive.pause-ms:250}")
+    private long pauseMs;
+
+    @Value("${app.archive.max-run-minutes:30}")
+    private long maxRunMinutes;
+
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void archiveDeletedTransactions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long deadline = System.nanoTime() + Duration.ofMinutes(maxRunMinutes).toNanos();
+        log.info("Archiving transactions deleted before {}", cutoff);
+
+        int archived = 0;
+        int moved;
+        do {
+            moved = transactionArchiveService.archiveBatch(cutoff, batchSize);
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            if (System.nanoTime() > deadline) {
+                log.info("Archival stopped at the {} minute limit, remaining rows are left for the next run",
+                        maxRunMinutes);
+                break;
+            }
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        } while (true);
+
+        log.info("Archived {} deleted transactions", archived);
+    }
+}
@@ -0,0 +1,116 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.mapper.TransactionMapper;
+import com.moneymanager.model.Transaction;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Moves old soft-deleted transactions out of the hot collection and brings them back on request.
+// Documents are copied as raw BSON so the archive holds exactly what was deleted.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionArchiveService {
+
+    public static final String ARCHIVE_COLLECTION = "transactions_archive";
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionMapper transactionMapper;
+    private final RollupService rollupService;
+    private final ReportCache reportCache;
+    private final OperationMetrics operationMetrics;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionAnalytics transactionAnalytics;
+    private final LedgerService ledgerService;
+
+    // Copies one batch of tombstones deleted before the cutoff into the archive, then removes them
+    // from the hot collection. Returns the number archived; 0 means nothing is left to do.
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        String collection = mongoTemplate.getCollectionName(Transaction.class);
+        Query query = new Query(Criteria.where("isDeleted").is(true).and("deletedAt").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "deletedAt"))
+                .limit(batchSize);
+        List<Document> batch = mongoTemplate.find(query, Document.class, collection);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Upsert by _id: re-running a batch interrupted before the purge, or archiving a row that was
+        // restored and deleted again, leaves exactly the latest copy in the archive
+        List<Object> ids = new ArrayList<>(batch.size());
+        List<ReplaceOneModel<Document>> writes = new ArrayList<>(batch.size());
+        for (Document document : batch) {
+            ids.add(document.get("_id"));
+            writes.add(new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")), document,
+                    new ReplaceOptions().upsert(true)));
+        }
+        mongoTemplate.getCollection(ARCHIVE_COLLECTION).bulkWrite(writes, new BulkWriteOptions().ordered(false));
+
+        // isDeleted is re-checked so a row restored in the meantime is not purged
+        long removed = mongoTemplate.remove(
+                new Query(Criteria.where("_id").in(ids).and("isDeleted").is(true)), collection).getDeletedCount();
+        operationMetrics.transactionsArchived((int) removed);
+
+        return batch.size();
+    }
+
+    // Undeletes a transaction whether it is still a tombstone in the hot collection or already archived
+    public TransactionDTO restoreTransaction(String userId, String transactionId) {
+        log.info("Restoring transaction: {} for user: {}", transactionId, userId);
+
+        // Plain update then read back rather than findAndModify, which time-series storage does not support
+        Query owned = TransactionService.ownedBy(userId, transactionId);
+        long undeleted = mongoTemplate.updateFirst(
+                Query.of(owned).addCriteria(Criteria.where("isDeleted").is(true)),
+                new Update().set("isDeleted", false).unset("deletedAt").set("updatedAt", LocalDateTime.now()),
+                Transaction.class).getModifiedCount();
+        Transaction restored = undeleted > 0 ? mongoTemplate.findOne(owned, Transaction.class) : null;
+
+        if (restored == null) {
+            Transaction archived = mongoTemplate.findOne(owned, Transaction.class, ARCHIVE_COLLECTION);
+            if (archived == null) {
+                if (mongoTemplate.exists(owned, Transaction.class)) {
+                    throw new RuntimeException("Transaction is not deleted");
+                }
+                throw new RuntimeException("Transaction not found");
+            }
+            archived.setDeleted(false);
+            archived.setDeletedAt(null);
+            archived.setUpdatedAt(LocalDateTime.now());
+            try {
+                restored = mongoTemplate.insert(archived);
+            } catch (DuplicateKeyException e) {
+                throw new RuntimeException("Transaction was imported again after deletion and cannot be restored");
+            }
+        }
+
+        // Not yet purged tombstones may already have an archive copy; drop it so it cannot resurface
+        mongoTemplate.remove(owned, ARCHIVE_COLLECTION);
+        rollupService.add(restored);
+        ledgerService.postTransaction(restored);
+        reportCache.evictTransaction(restored);
+        transactionAnalytics.add(restored);
+        operationMetrics.transactionRestored();
+        log.info("Transaction restored successfully: {}", transactionId);
+
+        return transactionMapper.toDTO(restored,
+                categoryDictionary.forUser(userId, List.of(restored.getCategory())));
+    }
+}
@@ -0,0 +1,381 @@
+package com.moneymanager.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.moneymanager.config.TransactionStorage;
+import com.moneymanager.dto.ImportResultDTO;
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.exception.InvalidOperationException;
+import com.moneymanager.mapper.TransactionMapper;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionStatus;
+import com.moneymanager.utils.CsvUtils;
+import com.moneymanager.utils.Money;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionImportService {
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("type", "description", "amount", "category", "division", "transactiondate");
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionMapper transactionMapper;
+    private final Validator validator;
+    private final RollupService rollupService;
+    private final ReportCache reportCache;
+    private final OperationMetrics operationMetrics;
+    private final TransactionStorage transactionStorage;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionAnalytics transactionAnalytics;
+    private final LedgerService ledgerService;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.import.max-rows:100000}")
+    private int maxRows;
+
+    public ImportResultDTO importCsv(String userId, Reader reader) throws IOException {
+        log.info("Importing CSV transactions for user: {}", userId);
+
+        List<List<String>> records = CsvUtils.readRecords(reader);
+        if (records.isEmpty()) {
+            throw new InvalidOperationException("CSV file is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = records.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new InvalidOperationException("CSV header is missing column: " + column);
+            }
+        }
+
+        int rowCount = records.size() - 1;
+        checkRowLimit(rowCount);
+        List<TransactionDTO> rows = new ArrayList<>(rowCount);
+        String[] errors = new String[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            List<String> record = records.get(i + 1);
+            try {
+                rows.add(TransactionDTO.builder()
+                        .type(column(record, columns, "type"))
+                        .description(column(record, columns, "description"))
+                        .amount(parseAmount(column(record, columns, "amount")))
+                        .category(column(record, columns, "category"))
+                        .division(column(record, columns, "division"))
+                        .transactionDate(parseDate(column(record, columns, "transactiondate")))
+                        .accountId(column(record, columns, "accountid"))
+                        .notes(column(record, columns, "notes"))
+                        .build());
+            } catch (NumberFormatException | DateTimeParseException e) {
+                rows.add(null);
+                errors[i] = "Invalid value: " + e.getMessage();
+            }
+        }
+
+        return importRows(userId, rows, errors);
+    }
+
+    public ImportResultDTO importJson(String userId, List<TransactionDTO> rows) {
+        log.info("Importing {} JSON transactions for user: {}", rows.size(), userId);
+
+        checkRowLimit(rows.size());
+        return importRows(userId, rows, new String[rows.size()]);
+    }
+
+    private ImportResultDTO importRows(String userId, List<TransactionDTO> rows, String[] errors) {
+        int rowCount = rows.size();
+        Transaction[] transactions = new Transaction[rowCount];
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> accounts = ownedAccountIds(userId, rows);
+
+        // Validation is independent per row, so it runs in parallel
+        IntStream.range(0, rowCount).parallel().forEach(i -> {
+            if (errors[i] != null) {
+                return;
+            }
+            TransactionDTO dto = rows.get(i);
+            if (dto == null) {
+                errors[i] = "Empty row";
+                return;
+            }
+            Set<ConstraintViolation<TransactionDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                errors[i] = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                return;
+            }
+            if (dto.getAccountId() != null && !accounts.contains(dto.getAccountId())) {
+                errors[i] = "Account not found: " + dto.getAccountId();
+            }
+        });
+
+        // New names are interned one at a time here, so the parallel phase below never writes to Mongo
+        // and a name that cannot be interned fails only its own rows
+        Map<String, Integer> categoryCodes = new HashMap<>();
+        Map<String, String> categoryErrors = new HashMap<>();
+        for (int i = 0; i < rowCount; i++) {
+            String name = errors[i] == null ? rows.get(i).getCategory() : null;
+            if (name == null || categoryCodes.containsKey(name) || categoryErrors.containsKey(name)) {
+                continue;
+            }
+            try {
+                categoryCodes.put(name, categoryDictionary.encode(userId, name));
+            } catch (DataAccessException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                categoryErrors.put(name, e.getMessage());
+            }
+        }
+
+        // Mapping and hashing are independent per row, so they run in parallel
+        IntStream.range(0, rowCount).parallel().forEach(i -> {
+            if (errors[i] != null) {
+                return;
+            }
+            TransactionDTO dto = rows.get(i);
+            Integer category = categoryCodes.get(dto.getCategory());
+            if (category == null) {
+                errors[i] = categoryErrors.getOrDefault(dto.getCategory(), "Category is required");
+                return;
+            }
+            Transaction transaction;
+            try {
+                transaction = transactionMapper.toEntity(dto, category);
+            } catch (RuntimeException e) {
+                errors[i] = e.getMessage();
+                return;
+            }
+            // Assigned up front so the ledger postings can reference the inserted rows
+            transaction.setId(new ObjectId().toHexString());
+            transaction.setUserId(userId);
+            transaction.setCreatedAt(now);
+            transaction.setUpdatedAt(now);
+            transaction.setDeleted(false);
+            transaction.setStatus(TransactionStatus.COMPLETED);
+            transaction.setImportHash(contentHash(transaction, dto.getCategory()));
+            transactions[i] = transaction;
+        });
+
+        // Rows identical in content are told apart by their position among each other in the file, so a
+        // statement with two same-day coffees keeps both while importing the same file again still dedupes
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction == null) {
+                continue;
+            }
+            int occurrence = occurrences.merge(transaction.getImportHash(), 1, Integer::sum) - 1;
+            if (occurrence > 0) {
+                transaction.setImportHash(sha256(transaction.getImportHash() + "\u001f" + occurrence));
+            }
+        }
+
+        int imported = 0;
+        int duplicates = 0;
+        for (int start = 0; start < rowCount; start += batchSize) {
+            List<Transaction> batch = new ArrayList<>();
+            List<Integer> batchRows = new ArrayList<>();
+            for (int i = start; i < Math.min(rowCount, start + batchSize); i++) {
+                if (transactions[i] != null) {
+                    batch.add(transactions[i]);
+                    batchRows.add(i);
+                }
+            }
+            // Without a unique index (time-series storage) re-imported rows are found by hash up front
+            if (!transactionStorage.enforcesUniqueImports()) {
+                Set<String> seen = existingImportHashes(userId, batch);
+                List<Transaction> fresh = new ArrayList<>(batch.size());
+                List<Integer> freshRows = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    if (seen.add(batch.get(i).getImportHash())) {
+                        fresh.add(batch.get(i));
+                        freshRows.add(batchRows.get(i));
+                    } else {
+                        duplicates++;
+                    }
+                }
+                batch = fresh;
+                batchRows = freshRows;
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+
+            // Unordered: one bad or duplicate row does not stop the rest of the batch
+            Set<Integer> rejected = new HashSet<>();
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class)
+                        .insert(batch)
+                        .execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    rejected.add(error.getIndex());
+                    if (error.getCode() == DUPLICATE_KEY_ERROR) {
+                        duplicates++;
+                    } else {
+                        errors[batchRows.get(error.getIndex())] = error.getMessage();
+                    }
+                }
+            }
+
+            List<Transaction> inserted = new ArrayList<>(batch.size() - rejected.size());
+            for (int i = 0; i < batch.size(); i++) {
+                if (!rejected.contains(i)) {
+                    inserted.add(batch.get(i));
+                }
+            }
+            rollupService.addAll(inserted);
+            ledgerService.postTransactions(userId, inserted);
+            imported += inserted.size();
+        }
+
+        if (imported > 0) {
+            reportCache.evictUser(userId);
+            transactionAnalytics.invalidate(userId);
+            operationMetrics.transactionsImported(imported);
+        }
+
+        List<ImportResultDTO.RowError> rowErrors = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            if (errors[i] != null) {
+                rowErrors.add(new ImportResultDTO.RowError(i + 1, errors[i]));
+            }
+        }
+
+        log.info("Imported {} of {} transactions for user: {} ({} duplicates, {} failed)",
+                imported, rowCount, userId, duplicates, rowErrors.size());
+
+        return ImportResultDTO.builder()
+                .totalRows(rowCount)
+                .imported(imported)
+                .duplicates(duplicates)
+                .failed(rowErrors.size())
+                .errors(rowErrors)
+                .build();
+    }
+
+    private Set<String> existingImportHashes(String userId, List<Transaction> batch) {
+        Query query = new Query(Criteria.where("userId").is(userId)
+                .and("importHash").in(batch.stream().map(Transaction::getImportHash).toList()));
+        query.fields().include("importHash");
+
+        Set<String> hashes = new HashSet<>();
+        for (Transaction existing : mongoTemplate.find(query, Transaction.class)) {
+            hashes.add(existing.getImportHash());
+        }
+        return hashes;
+    }
+
+    private void checkRowLimit(int rowCount) {
+        if (rowCount > maxRows) {
+            throw new InvalidOperationException("Import is limited to " + maxRows + " rows");
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+    }
+
+    private Set<String> ownedAccountIds(String userId, List<TransactionDTO> rows) {
+        Set<String> requested = new HashSet<>();
+        for (TransactionDTO row : rows) {
+            if (row != null && row.getAccountId() != null) {
+                requested.add(row.getAccountId());
+            }
+        }
+        if (requested.isEmpty()) {
+            return requested;
+        }
+        Query query = new Query(Criteria.where("userId").is(userId).and("id").in(requested));
+        query.fields().include("id");
+        Set<String> owned = new HashSet<>();
+        for (Account account : mongoTemplate.find(query, Account.class)) {
+            owned.add(account.getId());
+        }
+        return owned;
+    }
+
+    // Same row imported twice hashes the same, and the (userId, importHash) index catches it.
+    // Labels and the category name are hashed rather than codes, so earlier imports still match.
+    // The first of several identical rows keeps this hash; importRows() salts the later ones.
+    private static String contentHash(Transaction transaction, String category) {
+        String content = String.join("\u001f",
+                transaction.getType().getLabel(),
+                Objects.toString(transaction.getDescription()),
+                // Hashed as the decimal double it used to be stored as, so earlier imports still match
+                Double.toString(Money.decimal(transaction.getAmount()).doubleValue()),
+                category,
+                transaction.getDivision().getLabel(),
+                Objects.toString(transaction.getTransactionDate()),
+                Objects.toString(transaction.getAccountId()));
+        return sha256(content);
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
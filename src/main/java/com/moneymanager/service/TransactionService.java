@@ -1,18 +1,41 @@
 package com.moneymanager.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.moneymanager.dto.CursorPage;
 import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.mapper.TransactionMapper;
+import com.moneymanager.model.Division;
 import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionStatus;
+import com.moneymanager.model.TransactionType;
 import com.moneymanager.repository.TransactionRepository;
+import com.moneymanager.utils.CategoryTable;
+import com.moneymanager.utils.CsvUtils;
+import com.moneymanager.utils.ListView;
+import com.moneymanager.utils.Money;
+import com.moneymanager.utils.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,7 +43,21 @@ import java.util.stream.Collectors;
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
-    private final ModelMapper modelMapper;
+    private final MongoTemplate mongoTemplate;
+    private final TransactionMapper transactionMapper;
+    private final ObjectMapper objectMapper;
+    private final RollupService rollupService;
+    private final ReportCache reportCache;
+    private final OperationMetrics operationMetrics;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionAnalytics transactionAnalytics;
+    private final LedgerService ledgerService;
+
+    static final String[] SUMMARY_FIELDS =
+            {"type", "description", "amount", "category", "transactionDate"};
+
+    private static final String CSV_HEADER =
+            "id,transactionDate,type,category,division,description,amount,accountId,status,notes\n";
 
     @Value("${app.transaction.edit-limit-hours:12}")
     private long editLimitHours;
@@ -28,87 +65,78 @@ public class TransactionService {
     public TransactionDTO createTransaction(String userId, TransactionDTO transactionDTO) {
         log.info("Creating transaction for user: {}", userId);
         
-        Transaction transaction = modelMapper.map(transactionDTO, Transaction.class);
+        ledgerService.requireAccount(userId, transactionDTO.getAccountId());
+        Transaction transaction = transactionMapper.toEntity(transactionDTO,
+                categoryDictionary.encode(userId, transactionDTO.getCategory()));
         transaction.setUserId(userId);
         transaction.setCreatedAt(LocalDateTime.now());
         transaction.setUpdatedAt(LocalDateTime.now());
         transaction.setDeleted(false);
-        transaction.setStatus("COMPLETED");
+        transaction.setStatus(TransactionStatus.COMPLETED);
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        rollupService.add(savedTransaction);
+        ledgerService.postTransaction(savedTransaction);
+        reportCache.evictTransaction(savedTransaction);
+        transactionAnalytics.add(savedTransaction);
+        operationMetrics.transactionCreated();
         log.info("Transaction created successfully: {}", savedTransaction.getId());
         
-        return modelMapper.map(savedTransaction, TransactionDTO.class);
+        return toDTO(userId, savedTransaction);
     }
 
     public TransactionDTO getTransactionById(String userId, String transactionId) {
         log.info("Fetching transaction: {} for user: {}", transactionId, userId);
         
-        Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new RuntimeException("Transaction not found"));
-        
-        if (!transaction.getUserId().equals(userId)) {
-            throw new RuntimeException("Unauthorized access to transaction");
-        }
+        Transaction transaction = findOwnedTransaction(userId, transactionId);
 
-        return modelMapper.map(transaction, TransactionDTO.class);
+        return toDTO(userId, transaction);
     }
 
-    public List<TransactionDTO> getAllTransactions(String userId) {
+    public CursorPage<?> getAllTransactions(String userId, ListView view, String cursor, Integer limit) {
         log.info("Fetching all transactions for user: {}", userId);
         
-        return transactionRepository.findByUserIdAndTransactionDateBetweenAndIsDeletedFalse(
-                userId, LocalDateTime.MIN, LocalDateTime.now())
-                .stream()
-                .map(transaction -> modelMapper.map(transaction, TransactionDTO.class))
-                .collect(Collectors.toList());
+        return findPage(userId, activeTransactions(userId).and("transactionDate").lte(LocalDateTime.now()),
+                view, cursor, limit);
     }
 
-    public List<TransactionDTO> getTransactionsByType(String userId, String type) {
+    public CursorPage<?> getTransactionsByType(String userId, String type, ListView view, String cursor, Integer limit) {
         log.info("Fetching {} transactions for user: {}", type, userId);
         
-        return transactionRepository.findByUserIdAndTypeAndIsDeletedFalse(userId, type)
-                .stream()
-                .map(transaction -> modelMapper.map(transaction, TransactionDTO.class))
-                .collect(Collectors.toList());
+        return findPage(userId, activeTransactions(userId).and("type").is(TransactionType.fromLabel(type)),
+                view, cursor, limit);
     }
 
-    public List<TransactionDTO> getTransactionsByCategory(String userId, String category) {
+    public CursorPage<?> getTransactionsByCategory(String userId, String category, ListView view, String cursor, Integer limit) {
         log.info("Fetching transactions by category: {} for user: {}", category, userId);
         
-        return transactionRepository.findByUserIdAndCategoryAndIsDeletedFalse(userId, category)
-                .stream()
-                .map(transaction -> modelMapper.map(transaction, TransactionDTO.class))
-                .collect(Collectors.toList());
+        Integer code = categoryDictionary.find(userId, category);
+        if (code == null) {
+            // A name this user has never used cannot match any of their transactions
+            return new CursorPage<>(List.of(), null);
+        }
+        return findPage(userId, activeTransactions(userId).and("category").is(code), view, cursor, limit);
     }
 
-    public List<TransactionDTO> getTransactionsByDivision(String userId, String division) {
+    public CursorPage<?> getTransactionsByDivision(String userId, String division, ListView view, String cursor, Integer limit) {
         log.info("Fetching transactions by division: {} for user: {}", division, userId);
         
-        return transactionRepository.findByUserIdAndDivisionAndIsDeletedFalse(userId, division)
-                .stream()
-                .map(transaction -> modelMapper.map(transaction, TransactionDTO.class))
-                .collect(Collectors.toList());
+        return findPage(userId, activeTransactions(userId).and("division").is(Division.fromLabel(division)),
+                view, cursor, limit);
     }
 
-    public List<TransactionDTO> getTransactionsByDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+    public CursorPage<?> getTransactionsByDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                                 ListView view, String cursor, Integer limit) {
         log.info("Fetching transactions between {} and {} for user: {}", startDate, endDate, userId);
         
-        return transactionRepository.findTransactionsByDateRange(userId, startDate, endDate)
-                .stream()
-                .map(transaction -> modelMapper.map(transaction, TransactionDTO.class))
-                .collect(Collectors.toList());
+        return findPage(userId, activeTransactions(userId).and("transactionDate").gte(startDate).lte(endDate),
+                view, cursor, limit);
     }
 
     public TransactionDTO updateTransaction(String userId, String transactionId, TransactionDTO transactionDTO) {
         log.info("Updating transaction: {} for user: {}", transactionId, userId);
         
-        Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new RuntimeException("Transaction not found"));
-
-        if (!transaction.getUserId().equals(userId)) {
-            throw new RuntimeException("Unauthorized access to transaction");
-        }
+        Transaction transaction = findOwnedTransaction(userId, transactionId);
 
         // Check if 12 hours have passed since creation
         LocalDateTime createdTime = transaction.getCreatedAt();
@@ -119,50 +147,204 @@ public class TransactionService {
             throw new RuntimeException("Transaction cannot be edited after 12 hours of creation");
         }
 
+        Transaction previous = transaction.toBuilder().build();
         transaction.setDescription(transactionDTO.getDescription());
-        transaction.setAmount(transactionDTO.getAmount());
-        transaction.setCategory(transactionDTO.getCategory());
-        transaction.setDivision(transactionDTO.getDivision());
+        transaction.setAmount(Money.minorUnits(transactionDTO.getAmount()));
+        transaction.setCategory(categoryDictionary.encode(userId, transactionDTO.getCategory()));
+        transaction.setDivision(Division.fromLabel(transactionDTO.getDivision()));
         transaction.setTransactionDate(transactionDTO.getTransactionDate());
         transaction.setUpdatedAt(LocalDateTime.now());
 
-        Transaction updatedTransaction = transactionRepository.save(transaction);
+        mongoTemplate.replace(ownedBy(userId, transactionId), transaction);
+        if (!transaction.isDeleted()) {
+            rollupService.remove(previous);
+            rollupService.add(transaction);
+            ledgerService.reverseTransaction(previous);
+            ledgerService.postTransaction(transaction);
+            reportCache.evictTransaction(previous);
+            reportCache.evictTransaction(transaction);
+            transactionAnalytics.add(transaction);
+        }
+        operationMetrics.transactionUpdated();
         log.info("Transaction updated successfully: {}", transactionId);
         
-        return modelMapper.map(updatedTransaction, TransactionDTO.class);
+        return toDTO(userId, transaction);
     }
 
     public void deleteTransaction(String userId, String transactionId) {
         log.info("Deleting transaction: {} for user: {}", transactionId, userId);
         
-        Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new RuntimeException("Transaction not found"));
+        Transaction transaction = findOwnedTransaction(userId, transactionId);
 
-        if (!transaction.getUserId().equals(userId)) {
-            throw new RuntimeException("Unauthorized access to transaction");
+        if (transaction.isDeleted()) {
+            log.info("Transaction already deleted: {}", transactionId);
+            return;
         }
 
         // Soft delete
         transaction.setDeleted(true);
         transaction.setDeletedAt(LocalDateTime.now());
-        transactionRepository.save(transaction);
+        mongoTemplate.replace(ownedBy(userId, transactionId), transaction);
+        rollupService.remove(transaction);
+        ledgerService.reverseTransaction(transaction);
+        reportCache.evictTransaction(transaction);
+        transactionAnalytics.remove(transaction);
+        operationMetrics.transactionDeleted();
         
         log.info("Transaction deleted successfully: {}", transactionId);
     }
 
-    public Double getTotalIncome(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+    // Lookups and rewrites are scoped by user so they run on the userId-led indexes; time-series
+    // storage has no _id index, and replace() avoids the upsert save() would issue
+    private Transaction findOwnedTransaction(String userId, String transactionId) {
+        Transaction transaction = mongoTemplate.findOne(ownedBy(userId, transactionId), Transaction.class);
+        if (transaction == null) {
+            throw new RuntimeException(transactionRepository.existsById(transactionId)
+                    ? "Unauthorized access to transaction"
+                    : "Transaction not found");
+        }
+        return transaction;
+    }
+
+    static Query ownedBy(String userId, String transactionId) {
+        return new Query(Criteria.where("id").is(transactionId).and("userId").is(userId));
+    }
+
+    private TransactionDTO toDTO(String userId, Transaction transaction) {
+        return transactionMapper.toDTO(transaction,
+                categoryDictionary.forUser(userId, List.of(transaction.getCategory())));
+    }
+
+    public void exportTransactions(String userId, String format, String type, String category, String division,
+                                   LocalDateTime startDate, LocalDateTime endDate, OutputStream outputStream)
+            throws IOException {
+        log.info("Exporting transactions as {} for user: {}", format, userId);
+
+        Criteria criteria = activeTransactions(userId);
+        if (type != null) {
+            criteria.and("type").is(TransactionType.fromLabel(type));
+        }
+        Integer categoryCode = category != null ? categoryDictionary.find(userId, category) : null;
+        if (categoryCode != null) {
+            criteria.and("category").is(categoryCode);
+        }
+        if (division != null) {
+            criteria.and("division").is(Division.fromLabel(division));
+        }
+        if (startDate != null || endDate != null) {
+            Criteria dateCriteria = criteria.and("transactionDate");
+            if (startDate != null) {
+                dateCriteria.gte(startDate);
+            }
+            if (endDate != null) {
+                dateCriteria.lte(endDate);
+            }
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "transactionDate", "id"));
+
+        // Rows are pulled from the cursor and written one at a time, so heap use does not grow with history length
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writerFor(TransactionDTO.class);
+        boolean csv = "csv".equals(format);
+        if (csv) {
+            writer.write(CSV_HEADER);
+        }
+        if (category != null && categoryCode == null) {
+            // A name this user has never used matches nothing, so the export is the header alone.
+            // Querying with a null code would also match documents that have no category.
+            writer.flush();
+            log.info("Exported 0 transactions for user: {} (unknown category)", userId);
+            return;
+        }
+
+        // One table for the whole export, refreshed only if a code interned mid-export turns up
+        CategoryTable categories = categoryDictionary.forUser(userId);
+        long count = 0;
+        try (Stream<Transaction> transactions = mongoTemplate.stream(query, Transaction.class)) {
+            Iterator<Transaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                Transaction transaction = iterator.next();
+                if (!categories.contains(transaction.getCategory())) {
+                    categories = categoryDictionary.forUser(userId, List.of(transaction.getCategory()));
+                }
+                TransactionDTO dto = transactionMapper.toDTO(transaction, categories);
+                if (csv) {
+                    writeCsvRow(writer, dto);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(dto));
+                    writer.write('\n');
+                }
+                count++;
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} transactions for user: {}", count, userId);
+    }
+
+    private void writeCsvRow(Writer writer, TransactionDTO dto) throws IOException {
+        writer.write(CsvUtils.escape(dto.getId()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(dto.getTransactionDate()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(dto.getType()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(dto.getCategory()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(dto.getDivision()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(dto.getDescription()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(dto.getAmount()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(dto.getAccountId()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(dto.getStatus()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(dto.getNotes()));
+        writer.write('\n');
+    }
+
+    public static Criteria activeTransactions(String userId) {
+        return Criteria.where("userId").is(userId).and("isDeleted").is(false);
+    }
+
+    private CursorPage<?> findPage(String userId, Criteria criteria, ListView view, String cursor, Integer limit) {
+        int pageSize = PageCursor.resolveLimit(limit);
+        Query query = PageCursor.pageQuery(criteria, cursor, pageSize, "transactionDate");
+
+        if (view == ListView.SUMMARY) {
+            // Only the list columns leave the server; notes, audit fields and flags are never decoded
+            query.fields().include(SUMMARY_FIELDS);
+        }
+        List<Transaction> transactions = mongoTemplate.find(query, Transaction.class);
+        CategoryTable categories = categoryDictionary.forUser(userId, categoryCodes(transactions));
+
+        if (view == ListView.SUMMARY) {
+            return PageCursor.toPage(transactions, pageSize, Transaction::getTransactionDate, Transaction::getId,
+                    transaction -> transactionMapper.toSummaryDTO(transaction, categories));
+        }
+        return PageCursor.toPage(transactions, pageSize, Transaction::getTransactionDate, Transaction::getId,
+                transaction -> transactionMapper.toDTO(transaction, categories));
+    }
+
+    static List<Integer> categoryCodes(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getCategory).toList();
+    }
+
+    public BigDecimal getTotalIncome(String userId, LocalDateTime startDate, LocalDateTime endDate) {
         List<Transaction> incomeTransactions = transactionRepository
-                .findTransactionsByTypeAndDateRange(userId, "INCOME", startDate, endDate);
-        return incomeTransactions.stream()
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+                .findTransactionsByTypeAndDateRange(userId, TransactionType.INCOME, startDate, endDate);
+        return Money.decimal(incomeTransactions.stream()
+                .mapToLong(Transaction::getAmount)
+                .sum());
     }
 
-    public Double getTotalExpense(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+    public BigDecimal getTotalExpense(String userId, LocalDateTime startDate, LocalDateTime endDate) {
         List<Transaction> expenseTransactions = transactionRepository
-                .findTransactionsByTypeAndDateRange(userId, "EXPENSE", startDate, endDate);
-        return expenseTransactions.stream()
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+                .findTransactionsByTypeAndDateRange(userId, TransactionType.EXPENSE, startDate, endDate);
+        return Money.decimal(expenseTransactions.stream()
+                .mapToLong(Transaction::getAmount)
+                .sum());
     }
 }
@@ -0,0 +1,121 @@
+package com.moneymanager.service;
+
+import com.moneymanager.config.TransactionStorage;
+import com.moneymanager.utils.Constants;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One-off copy of the regular transactions collection into the time-series one. Enable it for a single
+// start in timeseries mode; the source is left untouched so switching back to standard is a rollback.
+// Progress is checkpointed, so an interrupted run resumes where it stopped.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.mongo.timeseries.migrate-on-startup", havingValue = "true")
+public class TransactionTimeSeriesMigration implements ApplicationRunner {
+
+    static final String MIGRATION_ID = "transactions-timeseries";
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionStorage transactionStorage;
+
+    @Value("${app.mongo.timeseries.migration-batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!transactionStorage.isTimeSeries()) {
+            log.warn("Time-series migration requested but app.mongo.transaction-storage is not timeseries, skipping");
+            return;
+        }
+
+        MongoCollection<Document> source = mongoTemplate.getCollection(TransactionStorage.STANDARD_COLLECTION);
+        MongoCollection<Document> target = mongoTemplate.getCollection(transactionStorage.getCollection());
+        MongoCollection<Document> progress = mongoTemplate.getCollection(Constants.MIGRATIONS_COLLECTION);
+
+        Document state = progress.find(Filters.eq("_id", MIGRATION_ID)).first();
+        if (state == null) {
+            // Writes now go to the time-series collection, so the source ends at its current newest id
+            Document newest = source.find().projection(Projections.include("_id"))
+                    .sort(Sorts.descending("_id")).first();
+            if (newest == null) {
+                log.info("No transactions to migrate into '{}'", transactionStorage.getCollection());
+                return;
+            }
+            state = new Document("_id", MIGRATION_ID)
+                    .append("upperId", newest.get("_id"))
+                    .append("copied", 0L)
+                    .append("skipped", 0L);
+            progress.insertOne(state);
+        } else if (state.getBoolean("completed", false)) {
+            log.info("Transactions were already migrated into '{}'", transactionStorage.getCollection());
+            return;
+        } else {
+            // The last batch may have landed without its checkpoint; the time-series collection has no
+            // unique _id to reject it twice, so drop it. Live writes carry newer ids than upperId.
+            long removed = target.deleteMany(range(state)).getDeletedCount();
+            log.info("Resuming time-series migration after {} copied transactions, discarded {} uncheckpointed",
+                    state.getLong("copied"), removed);
+        }
+
+        long copied = state.getLong("copied");
+        long skipped = state.getLong("skipped");
+        List<Document> batch = new ArrayList<>(batchSize);
+        while (true) {
+            batch.clear();
+            source.find(range(state)).sort(Sorts.ascending("_id")).limit(batchSize).into(batch);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            // transactionDate is the time field and must be present on every measurement
+            List<Document> rows = new ArrayList<>(batch.size());
+            for (Document document : batch) {
+                if (document.get("transactionDate") != null) {
+                    rows.add(document);
+                } else {
+                    skipped++;
+                    log.warn("Transaction {} has no transactionDate and was not migrated", document.get("_id"));
+                }
+            }
+            if (!rows.isEmpty()) {
+                target.insertMany(rows, new InsertManyOptions().ordered(false));
+            }
+            copied += rows.size();
+
+            state.put("lastId", batch.get(batch.size() - 1).get("_id"));
+            progress.updateOne(Filters.eq("_id", MIGRATION_ID), Updates.combine(
+                    Updates.set("lastId", state.get("lastId")),
+                    Updates.set("copied", copied),
+                    Updates.set("skipped", skipped)));
+            log.info("Migrated {} transactions into '{}'", copied, transactionStorage.getCollection());
+        }
+
+        progress.updateOne(Filters.eq("_id", MIGRATION_ID), Updates.set("completed", true));
+        log.info("Time-series migration finished: {} transactions copied, {} skipped", copied, skipped);
+    }
+
+    // Source ids still to copy, which are also the target ids an interrupted batch may have written
+    private static Bson range(Document state) {
+        Bson upper = Filters.lte("_id", state.get("upperId"));
+        Object lastId = state.get("lastId");
+        return lastId == null ? upper : Filters.and(Filters.gt("_id", lastId), upper);
+    }
+}
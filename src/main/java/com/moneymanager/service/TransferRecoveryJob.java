@@ -0,0 +1,30 @@
+package com.moneymanager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Picks up transfers whose request died between recording the transfer and completing it. The grace
+// period must comfortably exceed the longest a live transfer request can take, so the job never races one.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransferRecoveryJob {
+
+    private final TransferService transferService;
+
+    @Value("${app.transfer.recover-after-minutes:5}")
+    private long recoverAfterMinutes;
+
+    @Scheduled(fixedDelayString = "${app.transfer.recovery-interval-ms:60000}")
+    public void recoverPendingTransfers() {
+        int recovered = transferService.recoverPending(LocalDateTime.now().minusMinutes(recoverAfterMinutes));
+        if (recovered > 0) {
+            log.warn("Recovered {} transfers left pending by interrupted requests", recovered);
+        }
+    }
+}
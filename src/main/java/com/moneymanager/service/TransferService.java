@@ -1,100 +1,253 @@
 package com.moneymanager.service;
 
+import com.moneymanager.dto.CursorPage;
 import com.moneymanager.dto.TransferDTO;
+import com.moneymanager.dto.TransferSummaryDTO;
+import com.moneymanager.exception.InvalidOperationException;
+import com.moneymanager.mapper.TransferMapper;
 import com.moneymanager.model.Account;
+import com.moneymanager.model.PostingSource;
 import com.moneymanager.model.Transfer;
 import com.moneymanager.repository.AccountRepository;
 import com.moneymanager.repository.TransferRepository;
+import com.moneymanager.utils.Constants;
+import com.moneymanager.utils.ListView;
+import com.moneymanager.utils.PageCursor;
+import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TransferService {
 
+    private static final String[] SUMMARY_FIELDS =
+            {"fromAccountId", "toAccountId", "amount", "description", "transferDate"};
+    private static final String PENDING_TRANSFERS = "pendingTransfers";
+    private static final String STATUS_PENDING = "PENDING";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_FAILED = "FAILED";
+
     private final TransferRepository transferRepository;
     private final AccountRepository accountRepository;
-    private final ModelMapper modelMapper;
+    private final MongoTemplate mongoTemplate;
+    private final TransferMapper transferMapper;
+    private final OperationMetrics operationMetrics;
+    private final LedgerService ledgerService;
+    private final ReportCache reportCache;
 
+    // A transfer is recorded as PENDING before any balance moves. Each balance update pushes the
+    // transfer id onto the account it changes, in the same atomic write, and the ledger legs are posted
+    // before the transfer is marked COMPLETED. Whatever step a crash interrupts, TransferRecoveryJob can
+    // tell from the markers and postings what already happened and finish or reverse the rest, so money
+    // never leaves one account without arriving in the other. With app.mongo.transactions-enabled the
+    // whole method also runs in one Mongo transaction.
     @Transactional
+    @CacheEvict(cacheNames = Constants.CACHE_TOTAL_BALANCE, key = "#userId")
     public TransferDTO createTransfer(String userId, TransferDTO transferDTO) {
         log.info("Creating transfer for user: {} from account: {} to account: {}", 
                 userId, transferDTO.getFromAccountId(), transferDTO.getToAccountId());
 
-        // Validate accounts exist and belong to user
-        Account fromAccount = accountRepository.findByIdAndUserId(transferDTO.getFromAccountId(), userId)
-                .orElseThrow(() -> new RuntimeException("From account not found"));
-        
-        Account toAccount = accountRepository.findByIdAndUserId(transferDTO.getToAccountId(), userId)
-                .orElseThrow(() -> new RuntimeException("To account not found"));
-
-        // Check if sufficient balance
-        if (fromAccount.getBalance() < transferDTO.getAmount()) {
-            throw new RuntimeException("Insufficient balance in from account");
+        if (transferDTO.getFromAccountId().equals(transferDTO.getToAccountId())) {
+            throw new InvalidOperationException("Cannot transfer to the same account");
+        }
+        if (!accountRepository.existsByIdAndUserId(transferDTO.getToAccountId(), userId)) {
+            throw new RuntimeException("To account not found");
         }
 
-        // Create transfer record
-        Transfer transfer = modelMapper.map(transferDTO, Transfer.class);
+        LocalDateTime now = LocalDateTime.now();
+        Transfer transfer = transferMapper.toEntity(transferDTO);
         transfer.setUserId(userId);
-        transfer.setCreatedAt(LocalDateTime.now());
-        transfer.setStatus("COMPLETED");
+        transfer.setCreatedAt(now);
+        transfer.setStatus(STATUS_PENDING);
         transfer.setReference(UUID.randomUUID().toString());
+        transfer = mongoTemplate.insert(transfer);
+
+        // Debit only if the account belongs to the user and still covers the amount; the
+        // check and the $inc happen in one atomic findAndModify, so concurrent transfers
+        // cannot both spend the same balance
+        Account fromAccount = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(transfer.getFromAccountId())
+                        .and("userId").is(userId)
+                        .and("balance").gte(transfer.getAmount())
+                        .and(PENDING_TRANSFERS).ne(transfer.getId())),
+                new Update().inc("balance", -transfer.getAmount())
+                        .push(PENDING_TRANSFERS, transfer.getId())
+                        .set("updatedAt", now),
+                Account.class);
+
+        if (fromAccount == null) {
+            // Nothing moved, so the transfer leaves no record
+            transferRepository.deleteById(transfer.getId());
+            accountRepository.findByIdAndUserId(transferDTO.getFromAccountId(), userId)
+                    .orElseThrow(() -> new RuntimeException("From account not found"));
+            operationMetrics.transferRejected();
+            throw new RuntimeException("Insufficient balance in from account");
+        }
+
+        if (!credit(transfer)) {
+            reverse(transfer);
+            throw new RuntimeException("To account not found");
+        }
+        postLegs(transfer, false);
+        complete(transfer);
+        operationMetrics.transferCreated();
+        log.info("Transfer completed successfully: {}", transfer.getId());
+
+        return transferMapper.toDTO(transfer);
+    }
 
-        // Update account balances
-        fromAccount.setBalance(fromAccount.getBalance() - transferDTO.getAmount());
-        toAccount.setBalance(toAccount.getBalance() + transferDTO.getAmount());
-        fromAccount.setUpdatedAt(LocalDateTime.now());
-        toAccount.setUpdatedAt(LocalDateTime.now());
+    // Finishes or reverses transfers that have been PENDING since before the cutoff, i.e. whose request
+    // died part way. Every step checks what the previous attempt left behind, so a transfer can be
+    // recovered more than once. Returns the number of transfers recovered.
+    public int recoverPending(LocalDateTime cutoff) {
+        Query stalled = new Query(Criteria.where("status").is(STATUS_PENDING).and("createdAt").lt(cutoff));
+
+        int recovered = 0;
+        for (Transfer transfer : mongoTemplate.find(stalled, Transfer.class)) {
+            boolean posted = hasLeg(transfer, transfer.getFromAccountId()) || hasLeg(transfer, transfer.getToAccountId());
+            if (!posted && !holdsMarker(transfer.getFromAccountId(), transfer.getId())) {
+                // Never debited, or debited and already put back
+                mongoTemplate.remove(new Query(Criteria.where("id").is(transfer.getId())
+                        .and("status").is(STATUS_PENDING)), Transfer.class);
+                log.warn("Discarded transfer {} that never moved money", transfer.getId());
+            } else if (!posted && !credit(transfer)) {
+                reverse(transfer);
+                log.warn("Reversed transfer {}: to account {} could not be credited",
+                        transfer.getId(), transfer.getToAccountId());
+            } else {
+                // Legs are only posted after both balances moved, so any posting means the credit happened
+                postLegs(transfer, true);
+                complete(transfer);
+                log.warn("Completed transfer {} left pending by an interrupted request", transfer.getId());
+            }
+            reportCache.evictTotalBalance(transfer.getUserId());
+            recovered++;
+        }
+        return recovered;
+    }
 
-        accountRepository.save(fromAccount);
-        accountRepository.save(toAccount);
+    // Credits the destination once; true if it is credited now or already was
+    private boolean credit(Transfer transfer) {
+        UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(transfer.getToAccountId())
+                        .and("userId").is(transfer.getUserId())
+                        .and(PENDING_TRANSFERS).ne(transfer.getId())),
+                new Update().inc("balance", transfer.getAmount())
+                        .push(PENDING_TRANSFERS, transfer.getId())
+                        .set("updatedAt", LocalDateTime.now()),
+                Account.class);
+        return result.getMatchedCount() == 1 || holdsMarker(transfer.getToAccountId(), transfer.getId());
+    }
 
-        Transfer savedTransfer = transferRepository.save(transfer);
-        log.info("Transfer completed successfully: {}", savedTransfer.getId());
+    // Puts the debit back; pulling the marker in the same update makes it apply at most once
+    private void reverse(Transfer transfer) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(transfer.getFromAccountId()).and(PENDING_TRANSFERS).is(transfer.getId())),
+                new Update().inc("balance", transfer.getAmount())
+                        .pull(PENDING_TRANSFERS, transfer.getId())
+                        .set("updatedAt", LocalDateTime.now()),
+                Account.class);
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(transfer.getId()).and("status").is(STATUS_PENDING)),
+                new Update().set("status", STATUS_FAILED),
+                Transfer.class);
+    }
 
-        return modelMapper.map(savedTransfer, TransferDTO.class);
+    private void postLegs(Transfer transfer, boolean onlyMissing) {
+        LocalDateTime postedAt = postedAt(transfer);
+        if (!onlyMissing || !hasLeg(transfer, transfer.getFromAccountId())) {
+            ledgerService.post(transfer.getUserId(), transfer.getFromAccountId(), -transfer.getAmount(), postedAt,
+                    PostingSource.TRANSFER, transfer.getId());
+        }
+        if (!onlyMissing || !hasLeg(transfer, transfer.getToAccountId())) {
+            ledgerService.post(transfer.getUserId(), transfer.getToAccountId(), transfer.getAmount(), postedAt,
+                    PostingSource.TRANSFER, transfer.getId());
+        }
     }
 
-    public List<TransferDTO> getTransfersByUser(String userId) {
+    // Markers go before the status flips, so a PENDING transfer without markers or postings never moved money
+    private void complete(Transfer transfer) {
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("id").in(transfer.getFromAccountId(), transfer.getToAccountId())),
+                new Update().pull(PENDING_TRANSFERS, transfer.getId()),
+                Account.class);
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(transfer.getId()).and("status").is(STATUS_PENDING)),
+                new Update().set("status", STATUS_COMPLETED),
+                Transfer.class);
+        transfer.setStatus(STATUS_COMPLETED);
+    }
+
+    private boolean holdsMarker(String accountId, String transferId) {
+        return mongoTemplate.exists(
+                new Query(Criteria.where("id").is(accountId).and(PENDING_TRANSFERS).is(transferId)), Account.class);
+    }
+
+    private boolean hasLeg(Transfer transfer, String accountId) {
+        return ledgerService.hasPosting(accountId, PostingSource.TRANSFER, transfer.getId(), postedAt(transfer));
+    }
+
+    private static LocalDateTime postedAt(Transfer transfer) {
+        return transfer.getTransferDate() != null ? transfer.getTransferDate() : transfer.getCreatedAt();
+    }
+
+    public CursorPage<?> getTransfersByUser(String userId, ListView view, String cursor, Integer limit) {
         log.info("Fetching transfers for user: {}", userId);
         
-        return transferRepository.findByUserId(userId)
-                .stream()
-                .map(transfer -> modelMapper.map(transfer, TransferDTO.class))
-                .collect(Collectors.toList());
+        return findPage(Criteria.where("userId").is(userId), view, cursor, limit);
     }
 
-    public List<TransferDTO> getTransfersByAccount(String accountId) {
-        log.info("Fetching transfers for account: {}", accountId);
-        
-        List<Transfer> fromTransfers = transferRepository.findByFromAccountId(accountId);
-        List<Transfer> toTransfers = transferRepository.findByToAccountId(accountId);
-        
-        List<Transfer> allTransfers = new ArrayList<>(fromTransfers);
-        allTransfers.addAll(toTransfers);
-        
-        return allTransfers.stream()
-                .distinct()
-                .map(transfer -> modelMapper.map(transfer, TransferDTO.class))
-                .collect(Collectors.toList());
+    public CursorPage<?> getTransfersByAccount(String userId, String accountId, ListView view, String cursor, Integer limit) {
+        log.info("Fetching transfers for account: {} of user: {}", accountId, userId);
+
+        if (!accountRepository.existsByIdAndUserId(accountId, userId)) {
+            throw new RuntimeException("Account not found");
+        }
+
+        // Both directions in one $or query; the userId prefix keeps each branch on its own index
+        return findPage(Criteria.where("userId").is(userId).orOperator(
+                Criteria.where("fromAccountId").is(accountId),
+                Criteria.where("toAccountId").is(accountId)), view, cursor, limit);
     }
 
-    public List<TransferDTO> getTransfersByDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+    public CursorPage<?> getTransfersByDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                           ListView view, String cursor, Integer limit) {
         log.info("Fetching transfers for user: {} between {} and {}", userId, startDate, endDate);
         
-        return transferRepository.findByUserIdAndTransferDateBetween(userId, startDate, endDate)
-                .stream()
-                .map(transfer -> modelMapper.map(transfer, TransferDTO.class))
-                .collect(Collectors.toList());
+        return findPage(Criteria.where("userId").is(userId).and("transferDate").gte(startDate).lte(endDate),
+                view, cursor, limit);
+    }
+
+    private CursorPage<?> findPage(Criteria criteria, ListView view, String cursor, Integer limit) {
+        int pageSize = PageCursor.resolveLimit(limit);
+        Query query = PageCursor.pageQuery(criteria, cursor, pageSize, "transferDate");
+
+        if (view == ListView.SUMMARY) {
+            query.fields().include(SUMMARY_FIELDS);
+            List<TransferSummaryDTO> rows = mongoTemplate.query(Transfer.class)
+                    .as(TransferSummaryDTO.class)
+                    .matching(query)
+                    .all();
+            return PageCursor.toPage(rows, pageSize,
+                    TransferSummaryDTO::getTransferDate, TransferSummaryDTO::getId, Function.identity());
+        }
+
+        List<Transfer> transfers = mongoTemplate.find(query, Transfer.class);
+        return PageCursor.toPage(transfers, pageSize,
+                Transfer::getTransferDate, Transfer::getId, transferMapper::toDTO);
     }
 }
@@ -0,0 +1,31 @@
+package com.moneymanager.utils;
+
+import com.moneymanager.exception.InvalidOperationException;
+
+import java.time.LocalDateTime;
+
+// Spacing of the points in an account balance history (?interval=)
+public enum BalanceInterval {
+    DAY,
+    WEEK,
+    MONTH;
+
+    public static BalanceInterval from(String interval) {
+        if (interval == null || interval.isBlank()) {
+            return DAY;
+        }
+        try {
+            return valueOf(interval.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Unsupported interval: " + interval + " (expected day, week or month)");
+        }
+    }
+
+    public LocalDateTime next(LocalDateTime date) {
+        return switch (this) {
+            case DAY -> date.plusDays(1);
+            case WEEK -> date.plusWeeks(1);
+            case MONTH -> date.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.moneymanager.utils;
+
+import com.moneymanager.model.Category;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Immutable code <-> name view of one user's categories: the built-in Category codes plus the user's
+// interned custom ones. Interning a new name builds a new table, so decoding a page never locks.
+public final class CategoryTable {
+
+    public static final CategoryTable BUILT_IN = new CategoryTable(Map.of());
+
+    private final Map<Integer, String> names;
+    private final Map<String, Integer> codes;
+
+    public CategoryTable(Map<Integer, String> customNames) {
+        this.names = Map.copyOf(customNames);
+        Map<String, Integer> codes = new HashMap<>();
+        customNames.forEach((code, name) -> codes.put(name, code));
+        this.codes = Map.copyOf(codes);
+    }
+
+    public String name(int code) {
+        Category category = Category.fromCode(code);
+        if (category != null) {
+            return category.getLabel();
+        }
+        String name = names.get(code);
+        return name != null ? name : "Unknown";
+    }
+
+    // Null when the user has never used this name
+    public Integer code(String name) {
+        Category category = Category.fromLabel(name);
+        return category != null ? Integer.valueOf(category.getCode()) : codes.get(name);
+    }
+
+    public boolean contains(int code) {
+        return Category.fromCode(code) != null || names.containsKey(code);
+    }
+
+    public int nextCustomCode() {
+        int max = Category.CUSTOM_CODE_START - 1;
+        for (int code : names.keySet()) {
+            max = Math.max(max, code);
+        }
+        return max + 1;
+    }
+
+    public CategoryTable with(String name, int code) {
+        Map<Integer, String> customNames = new HashMap<>(names);
+        customNames.put(code, name);
+        return new CategoryTable(customNames);
+    }
+}
@@ -2,46 +2,18 @@ package com.moneymanager.utils;
 
 public class Constants {
 
-    // Transaction Types
-    public static final String TRANSACTION_TYPE_INCOME = "INCOME";
-    public static final String TRANSACTION_TYPE_EXPENSE = "EXPENSE";
-
-    // Division Types
-    public static final String DIVISION_OFFICE = "Office";
-    public static final String DIVISION_PERSONAL = "Personal";
+    // Transaction type, division, status and categories are coded enums in com.moneymanager.model
 
     // Account Types
     public static final String ACCOUNT_TYPE_SAVINGS = "SAVINGS";
     public static final String ACCOUNT_TYPE_CHECKING = "CHECKING";
     public static final String ACCOUNT_TYPE_INVESTMENT = "INVESTMENT";
 
-    // Transaction Status
-    public static final String STATUS_PENDING = "PENDING";
-    public static final String STATUS_COMPLETED = "COMPLETED";
-    public static final String STATUS_FAILED = "FAILED";
-
     // Transfer Status
     public static final String TRANSFER_STATUS_PENDING = "PENDING";
     public static final String TRANSFER_STATUS_COMPLETED = "COMPLETED";
     public static final String TRANSFER_STATUS_FAILED = "FAILED";
 
-    // Categories - Expense
-    public static final String CATEGORY_FOOD = "Food";
-    public static final String CATEGORY_FUEL = "Fuel";
-    public static final String CATEGORY_MOVIE = "Movie";
-    public static final String CATEGORY_MEDICAL = "Medical";
-    public static final String CATEGORY_LOAN = "Loan";
-    public static final String CATEGORY_ENTERTAINMENT = "Entertainment";
-    public static final String CATEGORY_UTILITIES = "Utilities";
-    public static final String CATEGORY_GROCERIES = "Groceries";
-
-    // Categories - Income
-    public static final String CATEGORY_SALARY = "Salary";
-    public static final String CATEGORY_FREELANCE = "Freelance";
-    public static final String CATEGORY_INVESTMENT = "Investment";
-    public static final String CATEGORY_GIFT = "Gift";
-    public static final String CATEGORY_BONUS = "Bonus";
-
     // Currency
     public static final String CURRENCY_USD = "USD";
     public static final String CURRENCY_EUR = "EUR";
@@ -49,4 +21,18 @@ public class Constants {
 
     // Edit Limit
     public static final long EDIT_LIMIT_HOURS = 12;
+
+    // Report Caches
+    public static final String CACHE_MONTHLY_REPORT = "monthlyReport";
+    public static final String CACHE_WEEKLY_REPORT = "weeklyReport";
+    public static final String CACHE_YEARLY_REPORT = "yearlyReport";
+    public static final String CACHE_CATEGORY_REPORT = "categoryReport";
+    public static final String CACHE_TOTAL_BALANCE = "totalBalance";
+
+    // Pagination
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // One marker or progress document per startup migration and one-off job, keyed by its id
+    public static final String MIGRATIONS_COLLECTION = "migrations";
 }
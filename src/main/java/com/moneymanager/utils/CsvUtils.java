@@ -0,0 +1,89 @@
+package com.moneymanager.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CsvUtils {
+
+    private CsvUtils() {
+    }
+
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    // Reads RFC 4180 style records: quoted fields may contain commas, doubled quotes and line breaks
+    public static List<List<String>> readRecords(Reader source) throws IOException {
+        Reader reader = source.markSupported() ? source : new BufferedReader(source);
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean pendingRecord = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> {
+                    quoted = true;
+                    pendingRecord = true;
+                }
+                case ',' -> {
+                    record.add(field.toString());
+                    field.setLength(0);
+                    pendingRecord = true;
+                }
+                case '\r' -> {
+                    // Handled by the following '\n'
+                }
+                case '\n' -> {
+                    if (pendingRecord || field.length() > 0) {
+                        record.add(field.toString());
+                        records.add(record);
+                    }
+                    record = new ArrayList<>();
+                    field.setLength(0);
+                    pendingRecord = false;
+                }
+                default -> {
+                    field.append((char) c);
+                    pendingRecord = true;
+                }
+            }
+        }
+
+        if (pendingRecord || field.length() > 0) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,45 @@
+package com.moneymanager.utils;
+
+import com.moneymanager.exception.InvalidOperationException;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Immutable FX snapshot: units of each currency per one unit of the base currency.
+// A refresh builds a new instance and swaps the reference, so readers never lock.
+@Getter
+public final class FxRates {
+
+    private final String baseCurrency;
+    private final Map<String, BigDecimal> rates;
+    private final LocalDateTime loadedAt;
+
+    public FxRates(String baseCurrency, Map<String, BigDecimal> rates, LocalDateTime loadedAt) {
+        this.baseCurrency = baseCurrency;
+        this.rates = Map.copyOf(rates);
+        this.loadedAt = loadedAt;
+    }
+
+    public boolean supports(String currency) {
+        return rates.containsKey(currency);
+    }
+
+    public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency) {
+        if (fromCurrency.equals(toCurrency)) {
+            return amount;
+        }
+        BigDecimal inBase = amount.divide(rate(fromCurrency), MathContext.DECIMAL64);
+        return inBase.multiply(rate(toCurrency), MathContext.DECIMAL64);
+    }
+
+    private BigDecimal rate(String currency) {
+        BigDecimal rate = rates.get(currency);
+        if (rate == null) {
+            throw new InvalidOperationException("No exchange rate available for currency: " + currency);
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,20 @@
+package com.moneymanager.utils;
+
+import com.moneymanager.exception.InvalidOperationException;
+
+// Representation requested by list endpoints through ?view=
+public enum ListView {
+    FULL,
+    SUMMARY;
+
+    public static ListView from(String view) {
+        if (view == null || view.isBlank()) {
+            return FULL;
+        }
+        try {
+            return valueOf(view.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Unsupported view: " + view + " (expected full or summary)");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.moneymanager.utils;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.moneymanager.exception.InvalidOperationException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// An amount as a whole number of minor units (cents). Entities store the bare long so sums and balance
+// updates are exact integer arithmetic, in Java and in Mongo; this type is the decimal edge for JSON.
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return new Money(minorUnits(amount));
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits);
+    }
+
+    // Rejects amounts finer than a cent instead of silently rounding them
+    public static long minorUnits(BigDecimal amount) {
+        try {
+            return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new InvalidOperationException("Amount must have at most " + SCALE + " decimal places: " + amount);
+        }
+    }
+
+    public static BigDecimal decimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    @JsonValue
+    public BigDecimal toDecimal() {
+        return decimal(minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toDecimal().toPlainString();
+    }
+}
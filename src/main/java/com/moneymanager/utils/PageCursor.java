@@ -0,0 +1,90 @@
+package com.moneymanager.utils;
+
+import com.moneymanager.dto.CursorPage;
+import com.moneymanager.exception.InvalidOperationException;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// Opaque keyset cursor over (date, id). Pages are ordered newest first, so the
+// next page holds everything strictly before the last row of the current one.
+@Getter
+public final class PageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime date;
+    private final String id;
+
+    private PageCursor(LocalDateTime date, String id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public static String encode(LocalDateTime date, String id) {
+        String raw = date.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            if (split < 0) {
+                throw new InvalidOperationException("Invalid cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, split)), raw.substring(split + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidOperationException("Invalid cursor", e);
+        }
+    }
+
+    public static int resolveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return Constants.DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, Constants.MAX_PAGE_SIZE);
+    }
+
+    // Keyset pagination: no skip, so deep pages cost the same as the first. One extra row is
+    // fetched to tell whether another page follows.
+    public static Query pageQuery(Criteria criteria, String cursor, int pageSize, String dateField) {
+        Criteria pageCriteria = cursor == null
+                ? criteria
+                : new Criteria().andOperator(criteria, decode(cursor).after(dateField));
+        return new Query(pageCriteria)
+                .with(Sort.by(Sort.Direction.DESC, dateField, "id"))
+                .limit(pageSize + 1);
+    }
+
+    public static <E, D> CursorPage<D> toPage(List<E> rows, int pageSize, Function<E, LocalDateTime> dateOf,
+                                             Function<E, String> idOf, Function<E, D> mapper) {
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            E last = rows.get(pageSize - 1);
+            nextCursor = encode(dateOf.apply(last), idOf.apply(last));
+        }
+
+        List<D> items = new ArrayList<>(rows.size());
+        for (E row : rows) {
+            items.add(mapper.apply(row));
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    public Criteria after(String dateField) {
+        return new Criteria().orOperator(
+                Criteria.where(dateField).lt(date),
+                Criteria.where(dateField).is(date).and("id").lt(id));
+    }
+}
@@ -0,0 +1,21 @@
+package com.moneymanager.utils;
+
+import com.moneymanager.exception.InvalidOperationException;
+
+// Which transactions, if any, a dashboard report embeds next to its totals (?include=)
+public enum ReportDetail {
+    NONE,
+    TOP,
+    PAGE;
+
+    public static ReportDetail from(String include) {
+        if (include == null || include.isBlank()) {
+            return NONE;
+        }
+        try {
+            return valueOf(include.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Unsupported include: " + include + " (expected none, top or page)");
+        }
+    }
+}
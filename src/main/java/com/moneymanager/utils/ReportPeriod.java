@@ -0,0 +1,57 @@
+package com.moneymanager.utils;
+
+import com.moneymanager.exception.InvalidOperationException;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+// Half-open reporting window [start, end). Consecutive periods share a boundary instead of
+// leaving a gap at 23:59:59, and the range maps onto one transactionDate index scan.
+public record ReportPeriod(LocalDateTime start, LocalDateTime end) {
+
+    public static ReportPeriod month(int year, int month) {
+        try {
+            LocalDate first = LocalDate.of(year, month, 1);
+            return new ReportPeriod(first.atStartOfDay(), first.plusMonths(1).atStartOfDay());
+        } catch (DateTimeException e) {
+            throw new InvalidOperationException("Invalid month: " + month);
+        }
+    }
+
+    public static ReportPeriod year(int year) {
+        LocalDate first = LocalDate.of(year, 1, 1);
+        return new ReportPeriod(first.atStartOfDay(), first.plusYears(1).atStartOfDay());
+    }
+
+    // ISO-8601 week: Monday to Monday, week 1 holds the year's first Thursday. Years have 52 or 53 weeks.
+    public static ReportPeriod isoWeek(int weekBasedYear, int week) {
+        LocalDate reference = LocalDate.of(weekBasedYear, 1, 4);
+        long weeks = IsoFields.WEEK_OF_WEEK_BASED_YEAR.rangeRefinedBy(reference).getMaximum();
+        if (week < 1 || week > weeks) {
+            throw new InvalidOperationException("Week must be between 1 and " + weeks + " for " + weekBasedYear);
+        }
+        LocalDate monday = reference
+                .with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, week)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return new ReportPeriod(monday.atStartOfDay(), monday.plusWeeks(1).atStartOfDay());
+    }
+
+    public static ReportPeriod between(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new InvalidOperationException("startDate must be before endDate");
+        }
+        return new ReportPeriod(start, end);
+    }
+
+    public static int isoWeekYear(LocalDateTime date) {
+        return date.get(IsoFields.WEEK_BASED_YEAR);
+    }
+
+    public static int isoWeek(LocalDateTime date) {
+        return date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+    }
+}
@@ -0,0 +1,175 @@
+package com.moneymanager.utils;
+
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Immutable column-per-field copy of one user's non-deleted transactions, sorted by transactionDate.
+// A range is two binary searches on the date column, and aggregates are one loop over primitive
+// arrays. Changes are applied in batches that build a new instance, so readers never lock and never
+// see a half-applied change.
+public final class TransactionColumns {
+
+    public static final int ANY = -1;
+
+    // Arrays per row plus the id string and its array slot
+    private static final int BYTES_PER_ROW = 8 + 8 + 2 * 2 + 4 + 4 + 64;
+
+    private final String[] ids;
+    private final long[] dates;
+    private final long[] amounts;
+    private final short[] types;
+    private final int[] categories;
+    private final short[] divisions;
+
+    private TransactionColumns(String[] ids, long[] dates, long[] amounts,
+                               short[] types, int[] categories, short[] divisions) {
+        this.ids = ids;
+        this.dates = dates;
+        this.amounts = amounts;
+        this.types = types;
+        this.categories = categories;
+        this.divisions = divisions;
+    }
+
+    public record Totals(long income, long expense, int count) {
+    }
+
+    // Rows must already be sorted by transactionDate; rows without a date can never fall in a range
+    public static TransactionColumns of(List<Transaction> sorted) {
+        int size = 0;
+        for (Transaction transaction : sorted) {
+            if (transaction.getTransactionDate() != null) {
+                size++;
+            }
+        }
+        TransactionColumns columns = new TransactionColumns(new String[size], new long[size], new long[size],
+                new short[size], new int[size], new short[size]);
+        int row = 0;
+        for (Transaction transaction : sorted) {
+            if (transaction.getTransactionDate() != null) {
+                columns.set(row++, transaction);
+            }
+        }
+        return columns;
+    }
+
+    public static long epochMillis(LocalDateTime date) {
+        // Same zone Spring Data uses to store LocalDateTime
+        return date.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long sizeInBytes() {
+        return (long) ids.length * BYTES_PER_ROW;
+    }
+
+    // Applies a batch of writes in one pass: every row whose id is a key is dropped, and each non-null
+    // value is merged back in date order, after existing rows with the same date. A null value only
+    // removes the row. O(n + k log k) for k changes.
+    public TransactionColumns apply(Map<String, Transaction> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        List<Transaction> added = new ArrayList<>(changes.size());
+        for (Transaction transaction : changes.values()) {
+            if (transaction != null && transaction.getTransactionDate() != null) {
+                added.add(transaction);
+            }
+        }
+        added.sort(Comparator.comparing(Transaction::getTransactionDate));
+
+        int kept = 0;
+        for (String id : ids) {
+            if (!changes.containsKey(id)) {
+                kept++;
+            }
+        }
+        int size = kept + added.size();
+        TransactionColumns columns = new TransactionColumns(new String[size], new long[size], new long[size],
+                new short[size], new int[size], new short[size]);
+        int row = 0;
+        int next = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (changes.containsKey(ids[i])) {
+                continue;
+            }
+            while (next < added.size() && epochMillis(added.get(next).getTransactionDate()) < dates[i]) {
+                columns.set(row++, added.get(next++));
+            }
+            copyRow(columns, i, row++);
+        }
+        while (next < added.size()) {
+            columns.set(row++, added.get(next++));
+        }
+        return columns;
+    }
+
+    // Half-open [from, to); ANY leaves a code filter open
+    public Totals totals(LocalDateTime from, LocalDateTime to, int type, int category, int division) {
+        int start = firstAtOrAfter(epochMillis(from));
+        int end = firstAtOrAfter(epochMillis(to));
+        short income = (short) TransactionType.INCOME.getCode();
+        short expense = (short) TransactionType.EXPENSE.getCode();
+
+        long totalIncome = 0;
+        long totalExpense = 0;
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if ((type != ANY && types[i] != type)
+                    || (category != ANY && categories[i] != category)
+                    || (division != ANY && divisions[i] != division)) {
+                continue;
+            }
+            if (types[i] == income) {
+                totalIncome += amounts[i];
+            } else if (types[i] == expense) {
+                totalExpense += amounts[i];
+            }
+            count++;
+        }
+        return new Totals(totalIncome, totalExpense, count);
+    }
+
+    private int firstAtOrAfter(long date) {
+        int low = 0;
+        int high = dates.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[mid] < date) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void set(int row, Transaction transaction) {
+        ids[row] = transaction.getId();
+        dates[row] = epochMillis(transaction.getTransactionDate());
+        amounts[row] = transaction.getAmount();
+        types[row] = (short) (transaction.getType() == null ? 0 : transaction.getType().getCode());
+        // Custom category codes count up from 1000 per user with no upper bound, so they need a full int
+        categories[row] = transaction.getCategory();
+        divisions[row] = (short) (transaction.getDivision() == null ? 0 : transaction.getDivision().getCode());
+    }
+
+    private void copyRow(TransactionColumns target, int from, int to) {
+        target.ids[to] = ids[from];
+        target.dates[to] = dates[from];
+        target.amounts[to] = amounts[from];
+        target.types[to] = types[from];
+        target.categories[to] = categories[from];
+        target.divisions[to] = divisions[from];
+    }
+}
@@ -0,0 +1,264 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.config.MongoConfig;
+import com.moneymanager.config.TransactionStorage;
+import com.moneymanager.model.Category;
+import com.moneymanager.model.Division;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionType;
+import com.moneymanager.model.Transfer;
+import com.moneymanager.support.EmbeddedMongo;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs every declared repository query against the declared indexes, captures the command the driver
+// actually sends and explains it. A winning plan that scans the collection or sorts in memory fails.
+@DataMongoTest
+@Import({MongoConfig.class, TransactionStorage.class})
+class RepositoryIndexTest {
+
+    private static final String USER = "user-1";
+    private static final String OTHER_USER = "user-2";
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private QueryCapture queries;
+
+    @BeforeAll
+    static void requireMongo() {
+        EmbeddedMongo.requireAvailable();
+    }
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "repository-index-test");
+    }
+
+    @BeforeEach
+    void seed() {
+        mongoTemplate.remove(new Query(), Transaction.class);
+        mongoTemplate.remove(new Query(), Transfer.class);
+        List<Transaction> transactions = new ArrayList<>();
+        List<Transfer> transfers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String userId = i % 2 == 0 ? USER : OTHER_USER;
+            transactions.add(Transaction.builder()
+                    .userId(userId)
+                    .type(i % 3 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE)
+                    .description("row " + i)
+                    .amount(100L * (i + 1))
+                    .category(i % 3 == 0 ? Category.SALARY.getCode() : Category.FOOD.getCode())
+                    .division(i % 4 < 2 ? Division.PERSONAL : Division.OFFICE)
+                    .transactionDate(START.plusDays(i))
+                    .createdAt(START.plusDays(i))
+                    .isDeleted(i == 4)
+                    .importHash("hash-" + i)
+                    .build());
+            transfers.add(Transfer.builder()
+                    .userId(userId)
+                    .fromAccountId("account-a")
+                    .toAccountId("account-b")
+                    .amount(100L * (i + 1))
+                    .transferDate(START.plusDays(i))
+                    .createdAt(START.plusDays(i))
+                    .status(i % 5 == 0 ? "PENDING" : "COMPLETED")
+                    .build());
+        }
+        mongoTemplate.insertAll(transactions);
+        mongoTemplate.insertAll(transfers);
+    }
+
+    @Test
+    void transactionsByUser() {
+        assertIndexed(() -> assertThat(transactionRepository.findByUserId(USER)).hasSize(10));
+    }
+
+    @Test
+    void transactionsByType() {
+        assertIndexed(() -> assertThat(transactionRepository
+                .findByUserIdAndTypeAndIsDeletedFalse(USER, TransactionType.INCOME)).isNotEmpty());
+    }
+
+    @Test
+    void transactionsByCategory() {
+        assertIndexed(() -> assertThat(transactionRepository
+                .findByUserIdAndCategoryAndIsDeletedFalse(USER, Category.FOOD.getCode())).isNotEmpty());
+    }
+
+    @Test
+    void transactionsByDivision() {
+        assertIndexed(() -> assertThat(transactionRepository
+                .findByUserIdAndDivisionAndIsDeletedFalse(USER, Division.OFFICE)).isNotEmpty());
+    }
+
+    @Test
+    void transactionsBetweenDates() {
+        assertIndexed(() -> assertThat(transactionRepository.findByUserIdAndTransactionDateBetweenAndIsDeletedFalse(
+                USER, START, START.plusDays(10))).isNotEmpty());
+    }
+
+    @Test
+    void transactionsByCategoryAndDivision() {
+        assertIndexed(() -> assertThat(transactionRepository.findByUserIdAndCategoryAndDivisionAndIsDeletedFalse(
+                USER, Category.FOOD.getCode(), Division.OFFICE)).isNotEmpty());
+    }
+
+    @Test
+    void transactionsByDateRangeQuery() {
+        assertIndexed(() -> assertThat(transactionRepository.findTransactionsByDateRange(
+                USER, START, START.plusDays(10))).isNotEmpty());
+    }
+
+    @Test
+    void transactionsByTypeAndDateRangeQuery() {
+        assertIndexed(() -> assertThat(transactionRepository.findTransactionsByTypeAndDateRange(
+                USER, TransactionType.EXPENSE, START, START.plusDays(10))).isNotEmpty());
+    }
+
+    @Test
+    void transactionCountByType() {
+        assertIndexed(() -> assertThat(transactionRepository
+                .countByUserIdAndTypeAndIsDeletedFalse(USER, TransactionType.EXPENSE)).isPositive());
+    }
+
+    @Test
+    void transfersByUser() {
+        assertIndexed(() -> assertThat(transferRepository.findByUserId(USER)).hasSize(10));
+    }
+
+    @Test
+    void transfersBetweenDates() {
+        assertIndexed(() -> assertThat(transferRepository.findByUserIdAndTransferDateBetween(
+                USER, START, START.plusDays(10))).isNotEmpty());
+    }
+
+    @Test
+    void transfersByStatus() {
+        assertIndexed(() -> assertThat(transferRepository.findByUserIdAndStatus(USER, "PENDING")).isNotEmpty());
+    }
+
+    private void assertIndexed(Runnable call) {
+        queries.clear();
+        call.run();
+        List<BsonDocument> sent = queries.sent();
+        assertThat(sent).as("queries sent").isNotEmpty();
+
+        for (BsonDocument command : sent) {
+            Document explain = mongoTemplate.getDb().runCommand(new BsonDocument("explain", command)
+                    .append("verbosity", new BsonString("queryPlanner")));
+            List<String> stages = new ArrayList<>();
+            collectWinningStages(explain, false, stages);
+            // An aggregate that is not pushed down whole lists its pipeline stages ({$sort: ...}) here
+            if (explain.get("stages") instanceof List<?> pipeline) {
+                for (Object stage : pipeline) {
+                    stages.addAll(((Document) stage).keySet());
+                }
+            }
+            assertThat(stages).as("winning plan of %s", command.toJson())
+                    .containsAnyOf("IXSCAN", "COUNT_SCAN")
+                    .doesNotContain("COLLSCAN", "SORT", "$sort");
+        }
+    }
+
+    // Explain output nests differently per command and server version (find, aggregate's $cursor
+    // stage, slot-based plans), so every "stage" below a winningPlan is collected wherever it sits.
+    // Rejected plans are never entered.
+    private static void collectWinningStages(Object node, boolean inWinningPlan, List<String> stages) {
+        if (node instanceof Document document) {
+            for (String key : document.keySet()) {
+                Object value = document.get(key);
+                if (key.equals("rejectedPlans")) {
+                    continue;
+                }
+                if (inWinningPlan && key.equals("stage") && value instanceof String stage) {
+                    stages.add(stage);
+                }
+                collectWinningStages(value, inWinningPlan || key.equals("winningPlan"), stages);
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object item : list) {
+                collectWinningStages(item, inWinningPlan, stages);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class QueryCaptureConfig {
+
+        @Bean
+        QueryCapture queryCapture() {
+            return new QueryCapture();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer captureQueries(QueryCapture capture) {
+            return builder -> builder.addCommandListener(capture);
+        }
+    }
+
+    // Keeps the read commands the driver sends, minus the session and routing fields explain rejects
+    static class QueryCapture implements CommandListener {
+
+        private static final Set<String> READS = Set.of("find", "aggregate", "count", "distinct");
+        private static final Set<String> SESSION_FIELDS = Set.of("lsid", "txnNumber", "apiVersion");
+
+        private final List<BsonDocument> sent = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            if (!READS.contains(event.getCommandName())) {
+                return;
+            }
+            // The event's document reads from a pooled buffer that is only valid during this call
+            BsonDocument command = new RawBsonDocument(event.getCommand(), new BsonDocumentCodec())
+                    .decode(new BsonDocumentCodec());
+            command.keySet().removeIf(key -> key.startsWith("$") || SESSION_FIELDS.contains(key));
+            sent.add(command);
+        }
+
+        void clear() {
+            sent.clear();
+        }
+
+        List<BsonDocument> sent() {
+            synchronized (sent) {
+                return new ArrayList<>(sent);
+            }
+        }
+    }
+}
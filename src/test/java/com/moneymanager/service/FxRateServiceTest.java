@@ -0,0 +1,50 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TotalBalanceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class FxRateServiceTest {
+
+    private FxRateService fxRateService;
+
+    @BeforeEach
+    void setUp() {
+        FxRateProvider provider = () -> Map.of("EUR", new BigDecimal("0.5"));
+        fxRateService = new FxRateService(provider, mock(ReportCache.class));
+        ReflectionTestUtils.setField(fxRateService, "baseCurrency", "USD");
+        fxRateService.init();
+    }
+
+    @Test
+    void currencyWithoutARateIsLeftOutOfTheTotalAndListed() {
+        Map<String, Long> balances = new LinkedHashMap<>();
+        balances.put("USD", 10_000L);
+        balances.put("EUR", 1_000L);
+        balances.put("XYZ", 99_999L);
+
+        TotalBalanceDTO total = fxRateService.total(balances, "USD");
+
+        assertThat(total.getTotalBalance()).isEqualByComparingTo("120.00");
+        assertThat(total.getCurrency()).isEqualTo("USD");
+        assertThat(total.getUnconvertedCurrencies()).containsExactly("XYZ");
+        assertThat(total.getBalancesByCurrency()).containsEntry("XYZ", new BigDecimal("999.99"));
+    }
+
+    @Test
+    void preferredCurrencyWithoutARateTotalsInTheBaseCurrency() {
+        TotalBalanceDTO total = fxRateService.total(Map.of("EUR", 1_000L), "XYZ");
+
+        assertThat(total.getCurrency()).isEqualTo("USD");
+        assertThat(total.getTotalBalance()).isEqualByComparingTo("20.00");
+        assertThat(total.getUnconvertedCurrencies()).isEmpty();
+    }
+}
@@ -0,0 +1,149 @@
+package com.moneymanager.service;
+
+import com.moneymanager.config.MongoConfig;
+import com.moneymanager.config.TransactionStorage;
+import com.moneymanager.dto.ApiResponse;
+import com.moneymanager.model.IdempotencyRecord;
+import com.moneymanager.support.EmbeddedMongo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataMongoTest
+@Import({MongoConfig.class, TransactionStorage.class, IdempotencyService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class IdempotencyServiceTest {
+
+    private static final String USER = "user-1";
+    private static final String ENDPOINT = "POST /things";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    // The service keeps completed keys in memory as well, so each test uses a key of its own
+    private String key;
+
+    @BeforeAll
+    static void requireMongo() {
+        EmbeddedMongo.requireAvailable();
+    }
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "idempotency-test");
+    }
+
+    @BeforeEach
+    void clean() {
+        mongoTemplate.remove(new Query(), IdempotencyRecord.class);
+        calls.set(0);
+        key = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void retryReplaysTheStoredResponse() {
+        execute(key, Map.of("amount", 10));
+        ResponseEntity<ApiResponse<String>> replayed = execute(key, Map.of("amount", 10));
+
+        assertThat(calls).hasValue(1);
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replayed.getBody().data()).isEqualTo("created 1");
+    }
+
+    @Test
+    void differentBodyUnderTheSameKeyIsRejected() {
+        execute(key, Map.of("amount", 10));
+
+        assertThatThrownBy(() -> execute(key, Map.of("amount", 11)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void liveClaimIsInProgress() {
+        claim(key, LocalDateTime.now().plusMinutes(1));
+
+        assertThatThrownBy(() -> execute(key, Map.of("amount", 10)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void expiredClaimIsTakenOver() {
+        claim(key, LocalDateTime.now().minusSeconds(1));
+
+        ResponseEntity<ApiResponse<String>> response = execute(key, Map.of("amount", 10));
+
+        assertThat(calls).hasValue(1);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        IdempotencyRecord stored = mongoTemplate.findById(USER + ":" + key, IdempotencyRecord.class);
+        assertThat(stored.getStatus()).isEqualTo("COMPLETED");
+        assertThat(stored.getLockedUntil()).isNull();
+    }
+
+    @Test
+    void unserializableResponseStillReachesTheClientAndCompletesTheKey() {
+        // An empty bean fails serialization; the write behind it has already happened
+        ResponseEntity<ApiResponse<Object>> response = idempotencyService.execute(USER, key, ENDPOINT,
+                Map.of("amount", 10), Object.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.of("Created", new Object())));
+        ResponseEntity<ApiResponse<Object>> replayed = idempotencyService.execute(USER, key, ENDPOINT,
+                Map.of("amount", 10), Object.class, () -> {
+                    throw new AssertionError("request ran twice");
+                });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replayed.getBody().message()).isEqualTo("Created");
+        assertThat(replayed.getBody().data()).isNull();
+    }
+
+    private ResponseEntity<ApiResponse<String>> execute(String key, Object request) {
+        return idempotencyService.execute(USER, key, ENDPOINT, request, String.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResponse.of("Created", "created " + calls.incrementAndGet())));
+    }
+
+    // A PENDING record as left behind by a request on another node, with its lease ending at lockedUntil.
+    // Written without a request hash, the way records from before hashing look.
+    private void claim(String key, LocalDateTime lockedUntil) {
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.insert(IdempotencyRecord.builder()
+                .id(USER + ":" + key)
+                .userId(USER)
+                .endpoint(ENDPOINT)
+                .status("PENDING")
+                .lockedUntil(lockedUntil)
+                .createdAt(now)
+                .expiresAt(now.plusHours(1))
+                .build());
+    }
+}
@@ -0,0 +1,202 @@
+package com.moneymanager.service;
+
+import com.moneymanager.config.MongoConfig;
+import com.moneymanager.config.TransactionStorage;
+import com.moneymanager.dto.BalancePointDTO;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.AccountPosting;
+import com.moneymanager.model.BalanceCheckpoint;
+import com.moneymanager.model.PostingSource;
+import com.moneymanager.model.Transfer;
+import com.moneymanager.support.EmbeddedMongo;
+import com.moneymanager.utils.BalanceInterval;
+import com.moneymanager.utils.Money;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({MongoConfig.class, TransactionStorage.class, LedgerService.class})
+class LedgerServiceTest {
+
+    private static final String USER = "user-1";
+    private static final String ACCOUNT = "account-1";
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime FEBRUARY = JANUARY.plusMonths(1);
+    private static final LocalDateTime MARCH = FEBRUARY.plusMonths(1);
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void requireMongo() {
+        EmbeddedMongo.requireAvailable();
+    }
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "ledger-test");
+    }
+
+    @BeforeEach
+    void clean() {
+        mongoTemplate.remove(new Query(), Account.class);
+        mongoTemplate.remove(new Query(), Transfer.class);
+        mongoTemplate.remove(new Query(), AccountPosting.class);
+        mongoTemplate.remove(new Query(), BalanceCheckpoint.class);
+    }
+
+    @Test
+    void balanceAsOfSumsPostingsDatedBeforeTheInstant() {
+        ledgerService.post(USER, ACCOUNT, 10_000, JANUARY, PostingSource.OPENING, ACCOUNT);
+        ledgerService.post(USER, ACCOUNT, -2_500, JANUARY.plusDays(10), PostingSource.TRANSACTION, "t1");
+        ledgerService.post(USER, ACCOUNT, 700, FEBRUARY, PostingSource.TRANSACTION, "t2");
+
+        assertThat(ledgerService.balanceAsOf(ACCOUNT, JANUARY)).isZero();
+        assertThat(ledgerService.balanceAsOf(ACCOUNT, JANUARY.plusDays(10))).isEqualTo(10_000);
+        assertThat(ledgerService.balanceAsOf(ACCOUNT, FEBRUARY)).isEqualTo(7_500);
+        assertThat(ledgerService.balanceAsOf(ACCOUNT, MARCH)).isEqualTo(8_200);
+    }
+
+    @Test
+    void checkpointSumsTheHistoryAndIsNeverRewritten() {
+        account();
+        LocalDateTime anHourAgo = LocalDateTime.now().minusHours(1);
+        posting(10_000, JANUARY, anHourAgo);
+        posting(-2_500, JANUARY.plusDays(10), anHourAgo);
+        posting(700, FEBRUARY.plusDays(3), anHourAgo);
+
+        assertThat(ledgerService.createCheckpoints(FEBRUARY)).isEqualTo(1);
+        assertThat(ledgerService.createCheckpoints(FEBRUARY)).isZero();
+        BalanceCheckpoint checkpoint = checkpoint(FEBRUARY);
+        assertThat(checkpoint.getBalance()).isEqualTo(7_500);
+
+        // Backdated into the checkpointed month after the checkpoint was taken
+        ledgerService.post(USER, ACCOUNT, -1_000, JANUARY.plusDays(20), PostingSource.TRANSACTION, "late");
+
+        assertThat(checkpoint(FEBRUARY)).isEqualTo(checkpoint);
+        assertThat(ledgerService.balanceAsOf(ACCOUNT, FEBRUARY)).isEqualTo(6_500);
+        assertThat(ledgerService.balanceAsOf(ACCOUNT, MARCH)).isEqualTo(7_200);
+        assertThat(ledgerService.balanceAsOf(ACCOUNT, MARCH)).isEqualTo(replay(MARCH));
+    }
+
+    @Test
+    void postingCreatedJustBeforeACheckpointIsCountedOnce() {
+        account();
+        posting(10_000, JANUARY, LocalDateTime.now().minusHours(1));
+        // Stamped inside the checkpoint's lag, as if its insert were still in flight
+        posting(-400, JANUARY.plusDays(5), LocalDateTime.now().minusMinutes(1));
+
+        ledgerService.createCheckpoints(FEBRUARY);
+
+        assertThat(checkpoint(FEBRUARY).getBalance()).isEqualTo(10_000);
+        assertThat(ledgerService.balanceAsOf(ACCOUNT, FEBRUARY)).isEqualTo(9_600);
+    }
+
+    @Test
+    void balanceHistoryMatchesAFullReplayAtEveryPoint() {
+        account();
+        LocalDateTime anHourAgo = LocalDateTime.now().minusHours(1);
+        posting(50_000, JANUARY, anHourAgo);
+        for (int day = 1; day < 80; day += 3) {
+            posting(day % 2 == 0 ? 1_250 : -900, JANUARY.plusDays(day).plusHours(9), anHourAgo);
+        }
+        ledgerService.createCheckpoints(FEBRUARY);
+        ledgerService.createCheckpoints(MARCH);
+        ledgerService.post(USER, ACCOUNT, -3_000, FEBRUARY.plusDays(2), PostingSource.TRANSACTION, "late");
+
+        List<BalancePointDTO> points = ledgerService.balanceHistory(ACCOUNT, JANUARY.plusDays(7),
+                MARCH.plusDays(14), BalanceInterval.WEEK);
+
+        assertThat(points).hasSize(10);
+        for (BalancePointDTO point : points) {
+            assertThat(point.getBalance()).as("balance at %s", point.getDate())
+                    .isEqualByComparingTo(Money.decimal(replay(point.getDate())));
+        }
+    }
+
+    @Test
+    void backfillSeedsCompletedTransfersAndAnOpeningPosting() {
+        Account account = account();
+        transfer(ACCOUNT, "account-2", 2_000, "COMPLETED", FEBRUARY.plusDays(1));
+        transfer("account-2", ACCOUNT, 500, "COMPLETED", FEBRUARY.plusDays(2));
+        transfer(ACCOUNT, "account-2", 9_999, "PENDING", FEBRUARY.plusDays(3));
+
+        assertThat(ledgerService.backfill(account)).isTrue();
+        assertThat(ledgerService.backfill(account)).isFalse();
+
+        List<AccountPosting> postings = mongoTemplate.find(
+                new Query(Criteria.where("accountId").is(ACCOUNT)), AccountPosting.class);
+        assertThat(postings).hasSize(3);
+        assertThat(postings).filteredOn(posting -> posting.getSource() == PostingSource.OPENING)
+                .singleElement()
+                .satisfies(opening -> {
+                    assertThat(opening.getAmount()).isEqualTo(11_500);
+                    assertThat(opening.getPostedAt()).isEqualTo(JANUARY);
+                });
+        assertThat(ledgerService.balanceAsOf(ACCOUNT, MARCH)).isEqualTo(account.getBalance());
+    }
+
+    private Account account() {
+        return mongoTemplate.insert(Account.builder()
+                .id(ACCOUNT)
+                .userId(USER)
+                .accountName("Checking")
+                .balance(10_000)
+                .currency("USD")
+                .isActive(true)
+                .createdAt(JANUARY)
+                .build());
+    }
+
+    private void posting(long amount, LocalDateTime postedAt, LocalDateTime createdAt) {
+        mongoTemplate.insert(AccountPosting.builder()
+                .userId(USER)
+                .accountId(ACCOUNT)
+                .amount(amount)
+                .postedAt(postedAt)
+                .source(PostingSource.TRANSACTION)
+                .createdAt(createdAt)
+                .build());
+    }
+
+    private void transfer(String from, String to, long amount, String status, LocalDateTime date) {
+        mongoTemplate.insert(Transfer.builder()
+                .userId(USER)
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(amount)
+                .transferDate(date)
+                .createdAt(date)
+                .status(status)
+                .build());
+    }
+
+    private BalanceCheckpoint checkpoint(LocalDateTime asOf) {
+        return mongoTemplate.findOne(new Query(Criteria.where("accountId").is(ACCOUNT).and("asOf").is(asOf)),
+                BalanceCheckpoint.class);
+    }
+
+    // Every posting dated before the instant, without checkpoints
+    private long replay(LocalDateTime at) {
+        return mongoTemplate.find(new Query(Criteria.where("accountId").is(ACCOUNT).and("postedAt").lt(at)),
+                        AccountPosting.class)
+                .stream().mapToLong(AccountPosting::getAmount).sum();
+    }
+}
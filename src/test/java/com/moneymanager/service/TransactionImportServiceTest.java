@@ -0,0 +1,117 @@
+package com.moneymanager.service;
+
+import com.moneymanager.config.MongoConfig;
+import com.moneymanager.config.TransactionStorage;
+import com.moneymanager.dto.ImportResultDTO;
+import com.moneymanager.mapper.TransactionMapper;
+import com.moneymanager.model.CustomCategory;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.support.EmbeddedMongo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({MongoConfig.class, TransactionStorage.class, TransactionImportService.class, TransactionMapper.class,
+        CategoryDictionary.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class TransactionImportServiceTest {
+
+    private static final String USER = "user-1";
+    private static final String HEADER = "type,description,amount,category,division,transactionDate\n";
+    private static final String COFFEE = "EXPENSE,Coffee,3.50,Food,Personal,2024-03-04\n";
+    private static final String LUNCH = "EXPENSE,Lunch,12.00,Food,Personal,2024-03-04\n";
+
+    @MockBean
+    private RollupService rollupService;
+
+    @MockBean
+    private ReportCache reportCache;
+
+    @MockBean
+    private OperationMetrics operationMetrics;
+
+    @MockBean
+    private TransactionAnalytics transactionAnalytics;
+
+    @MockBean
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void requireMongo() {
+        EmbeddedMongo.requireAvailable();
+    }
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "import-test");
+    }
+
+    @BeforeEach
+    void clean() {
+        mongoTemplate.remove(new Query(), Transaction.class);
+        mongoTemplate.remove(new Query(), CustomCategory.class);
+    }
+
+    @Test
+    void identicalRowsInOneFileAreAllImported() throws IOException {
+        ImportResultDTO result = importCsv(HEADER + COFFEE + COFFEE + LUNCH);
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getDuplicates()).isZero();
+        assertThat(stored("Coffee")).isEqualTo(2);
+    }
+
+    @Test
+    void reimportingTheSameFileDedupesEveryRow() throws IOException {
+        importCsv(HEADER + COFFEE + COFFEE + LUNCH);
+
+        ImportResultDTO again = importCsv(HEADER + COFFEE + COFFEE + LUNCH);
+
+        assertThat(again.getImported()).isZero();
+        assertThat(again.getDuplicates()).isEqualTo(3);
+        assertThat(stored("Coffee")).isEqualTo(2);
+    }
+
+    @Test
+    void aLaterStatementWithAnExtraIdenticalRowAddsOnlyThatRow() throws IOException {
+        importCsv(HEADER + COFFEE + COFFEE);
+
+        ImportResultDTO extended = importCsv(HEADER + COFFEE + COFFEE + COFFEE);
+
+        assertThat(extended.getImported()).isEqualTo(1);
+        assertThat(extended.getDuplicates()).isEqualTo(2);
+        assertThat(stored("Coffee")).isEqualTo(3);
+    }
+
+    private ImportResultDTO importCsv(String csv) throws IOException {
+        return importService.importCsv(USER, new StringReader(csv));
+    }
+
+    private long stored(String description) {
+        return mongoTemplate.count(new Query(Criteria.where("userId").is(USER).and("description").is(description)),
+                Transaction.class);
+    }
+}
@@ -0,0 +1,124 @@
+package com.moneymanager.service;
+
+import com.moneymanager.config.MongoConfig;
+import com.moneymanager.config.TransactionStorage;
+import com.moneymanager.mapper.TransactionMapper;
+import com.moneymanager.model.Category;
+import com.moneymanager.model.CustomCategory;
+import com.moneymanager.model.Division;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionStatus;
+import com.moneymanager.model.TransactionType;
+import com.moneymanager.support.EmbeddedMongo;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({MongoConfig.class, TransactionStorage.class, TransactionService.class, TransactionMapper.class,
+        CategoryDictionary.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class TransactionServiceExportTest {
+
+    private static final String USER = "user-1";
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    @MockBean
+    private RollupService rollupService;
+
+    @MockBean
+    private ReportCache reportCache;
+
+    @MockBean
+    private OperationMetrics operationMetrics;
+
+    @MockBean
+    private TransactionAnalytics transactionAnalytics;
+
+    @MockBean
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void requireMongo() {
+        EmbeddedMongo.requireAvailable();
+    }
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "transaction-export-test");
+    }
+
+    @BeforeEach
+    void seed() {
+        mongoTemplate.remove(new Query(), Transaction.class);
+        mongoTemplate.remove(new Query(), CustomCategory.class);
+        mongoTemplate.insert(Transaction.builder()
+                .userId(USER)
+                .type(TransactionType.EXPENSE)
+                .description("Lunch")
+                .amount(1_200)
+                .category(Category.FOOD.getCode())
+                .division(Division.PERSONAL)
+                .transactionDate(DATE)
+                .createdAt(DATE)
+                .status(TransactionStatus.COMPLETED)
+                .importHash("lunch")
+                .build());
+        // A document with no category at all, which an {category: null} filter would also match
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Transaction.class)).insertOne(new Document()
+                .append("userId", USER)
+                .append("type", TransactionType.EXPENSE.getCode())
+                .append("description", "Uncategorised")
+                .append("amount", 500L)
+                .append("division", Division.PERSONAL.getCode())
+                .append("transactionDate", DATE)
+                .append("isDeleted", false)
+                .append("status", TransactionStatus.COMPLETED.getCode())
+                .append("importHash", "uncategorised"));
+    }
+
+    @Test
+    void unknownCategoryExportsTheHeaderOnly() throws IOException {
+        String csv = export("Nope");
+
+        assertThat(csv.lines()).singleElement().asString().startsWith("id,transactionDate,");
+    }
+
+    @Test
+    void knownCategoryExportsItsRows() throws IOException {
+        String csv = export("Food");
+
+        assertThat(csv.lines()).hasSize(2);
+        assertThat(csv).contains("Lunch").doesNotContain("Uncategorised");
+    }
+
+    private String export(String category) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionService.exportTransactions(USER, "csv", null, category, null, null, null, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
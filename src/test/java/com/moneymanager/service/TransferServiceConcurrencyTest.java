@@ -0,0 +1,246 @@
+package com.moneymanager.service;
+
+import com.moneymanager.config.MongoConfig;
+import com.moneymanager.config.TransactionStorage;
+import com.moneymanager.dto.TransferDTO;
+import com.moneymanager.mapper.TransferMapper;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.AccountPosting;
+import com.moneymanager.model.PostingSource;
+import com.moneymanager.model.Transfer;
+import com.moneymanager.support.EmbeddedMongo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Many threads move money between the same accounts at once. Final balances must be exact, no account
+// may go negative and the ledger must agree with the stored balances.
+@DataMongoTest
+@Import({MongoConfig.class, TransactionStorage.class, TransferService.class, TransferMapper.class, LedgerService.class})
+class TransferServiceConcurrencyTest {
+
+    private static final String USER = "user-1";
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 50;
+
+    @MockBean
+    private OperationMetrics operationMetrics;
+
+    @MockBean
+    private ReportCache reportCache;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void requireMongo() {
+        EmbeddedMongo.requireAvailable();
+    }
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "transfer-concurrency-test");
+    }
+
+    @BeforeEach
+    void clean() {
+        mongoTemplate.remove(new Query(), Account.class);
+        mongoTemplate.remove(new Query(), Transfer.class);
+        mongoTemplate.remove(new Query(), AccountPosting.class);
+    }
+
+    @Test
+    void concurrentDebitsNeverOverdraw() throws Exception {
+        Account source = account(10_000);
+        Account target = account(0);
+
+        // 800 transfers of 1.00 against a 100.00 balance: exactly 100 can succeed
+        int succeeded = hammer(i -> transfer(source, target, "1.00"));
+
+        assertThat(succeeded).isEqualTo(100);
+        assertThat(balance(source)).isZero();
+        assertThat(balance(target)).isEqualTo(10_000);
+        assertThat(mongoTemplate.count(new Query(Criteria.where("status").is("COMPLETED")), Transfer.class))
+                .isEqualTo(100);
+        assertSettled(source, target);
+    }
+
+    @Test
+    void opposingTransfersConserveTheTotal() throws Exception {
+        Account first = account(5_000);
+        Account second = account(5_000);
+
+        hammer(i -> i % 2 == 0 ? transfer(first, second, "0.70") : transfer(second, first, "0.30"));
+
+        long forward = completed(first, second);
+        long backward = completed(second, first);
+        assertThat(balance(first)).isEqualTo(5_000 - forward + backward).isNotNegative();
+        assertThat(balance(second)).isEqualTo(5_000 + forward - backward).isNotNegative();
+        assertSettled(first, second);
+    }
+
+    @Test
+    void recoveryCompletesATransferInterruptedAfterTheDebit() {
+        Account source = account(1_000);
+        Account target = account(0);
+        Transfer transfer = pending(source, target, 400);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(source.getId())),
+                new Update().inc("balance", -400).push("pendingTransfers", transfer.getId()), Account.class);
+
+        assertThat(transferService.recoverPending(LocalDateTime.now().plusMinutes(1))).isEqualTo(1);
+
+        assertThat(balance(source)).isEqualTo(600);
+        assertThat(balance(target)).isEqualTo(400);
+        assertThat(status(transfer)).isEqualTo("COMPLETED");
+        assertSettled(source, target);
+    }
+
+    @Test
+    void recoveryDiscardsATransferInterruptedBeforeTheDebit() {
+        Account source = account(1_000);
+        Account target = account(0);
+        Transfer transfer = pending(source, target, 400);
+
+        transferService.recoverPending(LocalDateTime.now().plusMinutes(1));
+
+        assertThat(balance(source)).isEqualTo(1_000);
+        assertThat(balance(target)).isZero();
+        assertThat(mongoTemplate.findById(transfer.getId(), Transfer.class)).isNull();
+        assertSettled(source, target);
+    }
+
+    @Test
+    void recoveryIsIdempotentOnceCompleted() {
+        Account source = account(1_000);
+        Account target = account(0);
+        Transfer transfer = pending(source, target, 400);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(source.getId())),
+                new Update().inc("balance", -400).push("pendingTransfers", transfer.getId()), Account.class);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(target.getId())),
+                new Update().inc("balance", 400).push("pendingTransfers", transfer.getId()), Account.class);
+
+        transferService.recoverPending(LocalDateTime.now().plusMinutes(1));
+        transferService.recoverPending(LocalDateTime.now().plusMinutes(1));
+
+        assertThat(balance(source)).isEqualTo(600);
+        assertThat(balance(target)).isEqualTo(400);
+        assertSettled(source, target);
+    }
+
+    // Runs THREADS x TRANSFERS_PER_THREAD transfers released at once; returns how many succeeded
+    private int hammer(IntFunction<TransferDTO> transfers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                int first = thread * TRANSFERS_PER_THREAD;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int succeeded = 0;
+                    for (int i = first; i < first + TRANSFERS_PER_THREAD; i++) {
+                        try {
+                            transferService.createTransfer(USER, transfers.apply(i));
+                            succeeded++;
+                        } catch (RuntimeException e) {
+                            assertThat(e).hasMessage("Insufficient balance in from account");
+                        }
+                    }
+                    return succeeded;
+                }));
+            }
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Integer> result : results) {
+                succeeded += result.get();
+            }
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // No transfer left in flight, no markers left on the accounts, and each balance equals its postings
+    private void assertSettled(Account... accounts) {
+        assertThat(mongoTemplate.count(new Query(Criteria.where("status").is("PENDING")), Transfer.class)).isZero();
+        for (Account account : accounts) {
+            Account stored = mongoTemplate.findById(account.getId(), Account.class);
+            assertThat(stored.getPendingTransfers()).isNullOrEmpty();
+            long posted = mongoTemplate.find(new Query(Criteria.where("accountId").is(account.getId())
+                            .and("source").is(PostingSource.TRANSFER)), AccountPosting.class)
+                    .stream().mapToLong(AccountPosting::getAmount).sum();
+            assertThat(stored.getBalance()).isEqualTo(account.getBalance() + posted);
+        }
+    }
+
+    private Account account(long balance) {
+        return mongoTemplate.insert(Account.builder()
+                .userId(USER)
+                .accountName("Account")
+                .balance(balance)
+                .initialBalance(balance)
+                .currency("USD")
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private Transfer pending(Account from, Account to, long amount) {
+        return mongoTemplate.insert(Transfer.builder()
+                .userId(USER)
+                .fromAccountId(from.getId())
+                .toAccountId(to.getId())
+                .amount(amount)
+                .createdAt(LocalDateTime.now())
+                .status("PENDING")
+                .build());
+    }
+
+    private static TransferDTO transfer(Account from, Account to, String amount) {
+        TransferDTO dto = new TransferDTO();
+        dto.setFromAccountId(from.getId());
+        dto.setToAccountId(to.getId());
+        dto.setAmount(new BigDecimal(amount));
+        return dto;
+    }
+
+    private long balance(Account account) {
+        return mongoTemplate.findById(account.getId(), Account.class).getBalance();
+    }
+
+    private String status(Transfer transfer) {
+        return mongoTemplate.findById(transfer.getId(), Transfer.class).getStatus();
+    }
+
+    private long completed(Account from, Account to) {
+        return mongoTemplate.find(new Query(Criteria.where("fromAccountId").is(from.getId())
+                        .and("toAccountId").is(to.getId())
+                        .and("status").is("COMPLETED")), Transfer.class)
+                .stream().mapToLong(Transfer::getAmount).sum();
+    }
+}
@@ -0,0 +1,76 @@
+package com.moneymanager.support;
+
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.MongodConfig;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.runtime.Network;
+import org.junit.jupiter.api.Assumptions;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+// One embedded mongod per test JVM, started on first use. TEST_MONGODB_URI points the tests at an
+// existing server instead (a CI service container, or a replica set for transaction tests), and CI must
+// set it. When no server is available Mongo-backed test classes fail rather than pass with nothing run;
+// -DskipMongoTests skips them explicitly on a machine that cannot run mongod.
+public final class EmbeddedMongo {
+
+    public static final String URI_VARIABLE = "TEST_MONGODB_URI";
+    public static final String SKIP_PROPERTY = "skipMongoTests";
+
+    private static boolean attempted;
+    private static String uri;
+    private static String failure;
+
+    private EmbeddedMongo() {
+    }
+
+    public static synchronized String uri() {
+        if (!attempted) {
+            attempted = true;
+            start();
+        }
+        return uri;
+    }
+
+    // Call from a static @BeforeAll so the class fails (or is skipped on request) before its Spring
+    // context is built
+    public static void requireAvailable() {
+        Assumptions.assumeFalse(Boolean.getBoolean(SKIP_PROPERTY), "Mongo-backed tests skipped with -D" + SKIP_PROPERTY);
+        if (uri() == null) {
+            throw new IllegalStateException("No MongoDB for Mongo-backed tests: " + failure
+                    + ". Set " + URI_VARIABLE + " to a running server, or pass -D" + SKIP_PROPERTY + " to skip them");
+        }
+    }
+
+    // For @DynamicPropertySource; each test class gets its own database
+    public static void register(DynamicPropertyRegistry registry, String database) {
+        registry.add("spring.data.mongodb.uri", () -> uri() + "/" + database);
+        registry.add("spring.data.mongodb.database", () -> database);
+    }
+
+    private static void start() {
+        String external = System.getenv(URI_VARIABLE);
+        if (external != null && !external.isBlank()) {
+            uri = external.endsWith("/") ? external.substring(0, external.length() - 1) : external;
+            return;
+        }
+        // CI runs against a real server it provides, never a binary fetched at test time
+        if (System.getenv("CI") != null) {
+            failure = URI_VARIABLE + " is required in CI";
+            return;
+        }
+        try {
+            int port = Network.getFreeServerPort();
+            MongodExecutable executable = MongodStarter.getDefaultInstance().prepare(MongodConfig.builder()
+                    .version(Version.Main.PRODUCTION)
+                    .net(new Net(port, Network.localhostIsIPv6()))
+                    .build());
+            executable.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(executable::stop));
+            uri = "mongodb://localhost:" + port;
+        } catch (Exception | LinkageError e) {
+            failure = e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.moneymanager.utils;
+
+import com.moneymanager.model.Category;
+import com.moneymanager.model.Division;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionColumnsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = START.plusDays(60);
+
+    @Test
+    void appliedBatchesMatchAFreshSnapshot() {
+        Random random = new Random(42);
+        Map<String, Transaction> rows = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            Transaction transaction = transaction("t" + i, random);
+            rows.put(transaction.getId(), transaction);
+        }
+        TransactionColumns columns = TransactionColumns.of(sorted(rows));
+
+        for (int batch = 0; batch < 50; batch++) {
+            Map<String, Transaction> changes = new HashMap<>();
+            for (int i = 0; i < random.nextInt(20); i++) {
+                String id = "t" + random.nextInt(260);
+                Transaction change = random.nextInt(3) == 0 ? null : transaction(id, random);
+                changes.put(id, change);
+                if (change == null) {
+                    rows.remove(id);
+                } else {
+                    rows.put(id, change);
+                }
+            }
+            columns = columns.apply(changes);
+
+            TransactionColumns expected = TransactionColumns.of(sorted(rows));
+            assertThat(columns.size()).isEqualTo(expected.size());
+            assertSameTotals(columns, expected, random);
+        }
+    }
+
+    @Test
+    void categoryCodesAboveTheShortRangeAreKept() {
+        Transaction custom = Transaction.builder()
+                .id("custom")
+                .type(TransactionType.EXPENSE)
+                .amount(500)
+                .category(Category.CUSTOM_CODE_START + 40_000)
+                .division(Division.PERSONAL)
+                .transactionDate(START)
+                .build();
+        TransactionColumns columns = TransactionColumns.of(List.of(custom));
+
+        assertThat(columns.totals(START, END, TransactionColumns.ANY, Category.CUSTOM_CODE_START + 40_000,
+                TransactionColumns.ANY).expense()).isEqualTo(500);
+    }
+
+    private static void assertSameTotals(TransactionColumns actual, TransactionColumns expected, Random random) {
+        assertThat(actual.totals(START, END, TransactionColumns.ANY, TransactionColumns.ANY, TransactionColumns.ANY))
+                .isEqualTo(expected.totals(START, END, TransactionColumns.ANY, TransactionColumns.ANY,
+                        TransactionColumns.ANY));
+        for (int i = 0; i < 10; i++) {
+            LocalDateTime from = START.plusDays(random.nextInt(60));
+            LocalDateTime to = from.plusDays(random.nextInt(20));
+            int category = random.nextBoolean() ? TransactionColumns.ANY : Category.FOOD.getCode();
+            assertThat(actual.totals(from, to, TransactionColumns.ANY, category, TransactionColumns.ANY))
+                    .isEqualTo(expected.totals(from, to, TransactionColumns.ANY, category, TransactionColumns.ANY));
+        }
+    }
+
+    private static Transaction transaction(String id, Random random) {
+        return Transaction.builder()
+                .id(id)
+                .type(random.nextBoolean() ? TransactionType.INCOME : TransactionType.EXPENSE)
+                .amount(100L + random.nextInt(10_000))
+                .category(random.nextBoolean() ? Category.FOOD.getCode() : Category.SALARY.getCode())
+                .division(random.nextBoolean() ? Division.OFFICE : Division.PERSONAL)
+                .transactionDate(START.plusDays(random.nextInt(60)))
+                .build();
+    }
+
+    private static List<Transaction> sorted(Map<String, Transaction> rows) {
+        List<Transaction> sorted = new ArrayList<>(rows.values());
+        sorted.sort(Comparator.comparing(Transaction::getTransactionDate));
+        return sorted;
+    }
+}